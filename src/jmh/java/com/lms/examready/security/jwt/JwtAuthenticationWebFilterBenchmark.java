@@ -0,0 +1,49 @@
+package com.lms.examready.security.jwt;
+
+import com.lms.examready.security.revocation.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.lms.examready.model.Role.USER;
+
+/**
+ * Full filter pass for a token the frontend keeps re-sending, i.e. the verified-token cache hit path
+ * followed by a negative revocation filter check. The revocation service has no repository because a
+ * token that was never revoked must not reach it.
+ * Compare with {@link JwtProviderBenchmark#getAuthenticationValid()} for the uncached cost. The bytes
+ * allocated per operation are held to a budget by {@code ./gradlew jmhAllocationBudget}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationWebFilterBenchmark {
+
+    private static final WebFilterChain CHAIN = exchange -> Mono.empty();
+
+    private JwtAuthenticationWebFilter filter;
+    private MockServerWebExchange exchange;
+
+    @Setup
+    public void setUp() {
+        JwtProvider jwtProvider = JwtBenchmarkSupport.jwtProvider(3_600_000);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        TokenRevocationService tokenRevocationService =
+                new TokenRevocationService(null, meterRegistry, 100_000, 0.001, Duration.ofSeconds(5), 1_000);
+        filter = new JwtAuthenticationWebFilter(jwtProvider, new VerifiedTokenCache(meterRegistry, 10_000),
+                tokenRevocationService);
+        exchange = MockServerWebExchange.from(
+                JwtBenchmarkSupport.bearer(jwtProvider.generateToken(UUID.randomUUID(), "benchmarkUser", USER)));
+    }
+
+    @Benchmark
+    public Void filterRepeatedToken() {
+        return filter.filter(exchange, CHAIN).block();
+    }
+}
@@ -0,0 +1,34 @@
+package com.lms.examready.security.jwt;
+
+import com.lms.examready.metrics.AuthenticationMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+final class JwtBenchmarkSupport {
+
+    static final String SECRET = "3778214125442A472D4B6150645367566B59703373367639792F423F4528482B4D6251655468576D5A7134743777217A25432A462D4A404E635266556A586E32";
+
+    private JwtBenchmarkSupport() {
+    }
+
+    static JwtProvider jwtProvider(long expirationInMillis) {
+        JwtProvider jwtProvider = new JwtProvider(new AuthenticationMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtProvider, "jwtSecretString", SECRET);
+        ReflectionTestUtils.setField(jwtProvider, "jwtKeyId", "primary");
+        ReflectionTestUtils.setField(jwtProvider, "verificationSecrets", List.of());
+        ReflectionTestUtils.setField(jwtProvider, "jwtExpiration", expirationInMillis);
+        jwtProvider.init();
+        return jwtProvider;
+    }
+
+    static MockServerHttpRequest bearer(String token) {
+        return MockServerHttpRequest.get("/api/resource")
+                .header(AUTHORIZATION, JwtProvider.AUTH_TOKEN_TYPE + token)
+                .build();
+    }
+}
@@ -0,0 +1,53 @@
+package com.lms.examready.security.jwt;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.core.Authentication;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.lms.examready.model.Role.USER;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtProviderBenchmark {
+
+    private JwtProvider jwtProvider;
+    private UUID userId;
+    private ServerHttpRequest validRequest;
+    private ServerHttpRequest expiredRequest;
+    private ServerHttpRequest malformedRequest;
+
+    @Setup
+    public void setUp() {
+        jwtProvider = JwtBenchmarkSupport.jwtProvider(60_000);
+        userId = UUID.randomUUID();
+
+        String expiredToken = JwtBenchmarkSupport.jwtProvider(-60_000).generateToken(userId, "benchmarkUser", USER);
+        validRequest = JwtBenchmarkSupport.bearer(jwtProvider.generateToken(userId, "benchmarkUser", USER));
+        expiredRequest = JwtBenchmarkSupport.bearer(expiredToken);
+        malformedRequest = JwtBenchmarkSupport.bearer("malformed.token");
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtProvider.generateToken(userId, "benchmarkUser", USER);
+    }
+
+    @Benchmark
+    public Authentication getAuthenticationValid() {
+        return jwtProvider.getAuthentication(validRequest);
+    }
+
+    @Benchmark
+    public Authentication getAuthenticationExpired() {
+        return jwtProvider.getAuthentication(expiredRequest);
+    }
+
+    @Benchmark
+    public Authentication getAuthenticationMalformed() {
+        return jwtProvider.getAuthentication(malformedRequest);
+    }
+}
@@ -0,0 +1,141 @@
+package com.lms.examready.loadtest;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static java.util.Objects.requireNonNull;
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.boot.test.context.SpringBootTest.WebEnvironment.RANDOM_PORT;
+
+/**
+ * Boots the application against a Postgres container and drives a configurable mix of sign-up,
+ * sign-in and JWT-protected requests. Prints throughput and latency percentiles per endpoint and
+ * fails when an SLO from {@link LoadTestSettings} is exceeded. Run with {@code ./gradlew loadTest}.
+ * All traffic comes from one address with a small set of users, so sign-in rate limiting is off.
+ */
+@SpringBootTest(webEnvironment = RANDOM_PORT, properties = "sign-in-rate-limit.enabled=false")
+@ActiveProfiles("test")
+@Testcontainers
+class AuthenticationLoadTest {
+
+    @Container
+    @SuppressWarnings("resource")
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.4")
+            .withDatabaseName("examready")
+            .withUsername("examready_user")
+            .withPassword("examready_pass");
+
+    @DynamicPropertySource
+    static void registerProperties(DynamicPropertyRegistry registry) {
+        String r2dbcUrl = "r2dbc:postgresql://" +
+                postgres.getHost() + ":" +
+                postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) +
+                "/" + postgres.getDatabaseName();
+
+        registry.add("spring.r2dbc.url", () -> r2dbcUrl);
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.flyway.user", postgres::getUsername);
+        registry.add("spring.flyway.password", postgres::getPassword);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    void sustainsConfiguredMixWithinSlo() {
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+        WebClient client = WebClient.builder().baseUrl("http://localhost:" + port).build();
+        String runId = Integer.toString(ThreadLocalRandom.current().nextInt(36 * 36 * 36, 36 * 36 * 36 * 36), 36);
+
+        List<String> usernames = seedUsers(client, runId, settings.seedUsers());
+        List<String> tokens = signIn(client, usernames);
+        LoadDriver driver = new LoadDriver(client, settings, usernames, tokens, runId);
+
+        driver.run(settings.warmup());
+        Map<Endpoint, EndpointStats> stats = driver.run(settings.duration());
+
+        report(stats, settings.duration());
+        assertWithinSlo(stats, settings);
+    }
+
+    private static List<String> seedUsers(WebClient client, String runId, int count) {
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            usernames.add("ls" + runId + Integer.toString(i, 36));
+        }
+        Flux.fromIterable(usernames)
+                .flatMap(username -> client.post().uri("/api/auth/sign-up")
+                        .bodyValue(Map.of("username", username, "password", LoadDriver.PASSWORD,
+                                "email", username + "@loadtest.local"))
+                        .retrieve()
+                        .toBodilessEntity(), 16)
+                .blockLast(Duration.ofMinutes(5));
+        return usernames;
+    }
+
+    private static List<String> signIn(WebClient client, List<String> usernames) {
+        return Flux.fromIterable(usernames)
+                .flatMapSequential(username -> client.post().uri("/api/auth/sign-in")
+                        .bodyValue(Map.of("username", username, "password", LoadDriver.PASSWORD))
+                        .retrieve()
+                        .toBodilessEntity()
+                        .map(response -> requireNonNull(response.getHeaders().getFirst(HttpHeaders.AUTHORIZATION))
+                                .substring("Bearer ".length())), 16)
+                .collectList()
+                .block(Duration.ofMinutes(5));
+    }
+
+    private static void report(Map<Endpoint, EndpointStats> stats, Duration duration) {
+        double seconds = duration.toMillis() / 1000.0;
+        System.out.printf("%n%-14s %10s %8s %10s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        stats.forEach((endpoint, endpointStats) -> System.out.printf("%-14s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f%n",
+                endpoint.key(), endpointStats.requests(), endpointStats.errors(), endpointStats.requests() / seconds,
+                endpointStats.percentileMillis(50), endpointStats.percentileMillis(90),
+                endpointStats.percentileMillis(99), endpointStats.maxMillis()));
+        long total = stats.values().stream().mapToLong(EndpointStats::requests).sum();
+        System.out.printf("%-14s %10d %8s %10.1f%n%n", "total", total, "", total / seconds);
+    }
+
+    private static void assertWithinSlo(Map<Endpoint, EndpointStats> stats, LoadTestSettings settings) {
+        double seconds = settings.duration().toMillis() / 1000.0;
+        long total = stats.values().stream().mapToLong(EndpointStats::requests).sum();
+
+        List<Executable> checks = new ArrayList<>();
+        checks.add(() -> assertTrue(total / seconds >= settings.minThroughput(),
+                "throughput " + total / seconds + " req/s is below " + settings.minThroughput()));
+        settings.mix().keySet().forEach(endpoint -> {
+            EndpointStats endpointStats = stats.get(endpoint);
+            checks.add(() -> assertTrue(endpointStats.requests() > 0, endpoint.key() + " was never called"));
+            checks.add(() -> assertTrue(endpointStats.errorRate() <= settings.maxErrorRate(),
+                    endpoint.key() + " error rate " + endpointStats.errorRate() + " exceeds " + settings.maxErrorRate()));
+            Duration slo = settings.p99Slo().get(endpoint);
+            if (slo != null) {
+                checks.add(() -> assertTrue(endpointStats.percentileMillis(99) <= slo.toMillis(),
+                        endpoint.key() + " p99 " + endpointStats.percentileMillis(99) + " ms exceeds " + slo.toMillis() + " ms"));
+            }
+        });
+        assertAll("SLO", checks.stream());
+    }
+}
@@ -0,0 +1,32 @@
+package com.lms.examready.loadtest;
+
+import java.util.Arrays;
+
+enum Endpoint {
+    SIGN_UP("sign-up", 201),
+    SIGN_IN("sign-in", 200),
+    AUTHENTICATED("authenticated", 200);
+
+    private final String key;
+    private final int expectedStatus;
+
+    Endpoint(String key, int expectedStatus) {
+        this.key = key;
+        this.expectedStatus = expectedStatus;
+    }
+
+    String key() {
+        return key;
+    }
+
+    int expectedStatus() {
+        return expectedStatus;
+    }
+
+    static Endpoint fromKey(String key) {
+        return Arrays.stream(values())
+                .filter(endpoint -> endpoint.key.equals(key.trim()))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown endpoint '" + key + "', expected one of sign-up, sign-in, authenticated"));
+    }
+}
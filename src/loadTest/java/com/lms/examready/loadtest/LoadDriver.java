@@ -0,0 +1,87 @@
+package com.lms.examready.loadtest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Closed-loop load generator: {@code concurrency} workers each issue one request at a time, picking the
+ * endpoint by the configured weights, until the deadline passes.
+ */
+final class LoadDriver {
+
+    static final String PASSWORD = "LoadTest#2025";
+
+    private final WebClient client;
+    private final LoadTestSettings settings;
+    private final List<String> usernames;
+    private final List<String> tokens;
+    private final String runId;
+    private final AtomicLong signUpSequence = new AtomicLong();
+    private final Endpoint[] weightedEndpoints;
+
+    LoadDriver(WebClient client, LoadTestSettings settings, List<String> usernames, List<String> tokens, String runId) {
+        this.client = client;
+        this.settings = settings;
+        this.usernames = usernames;
+        this.tokens = tokens;
+        this.runId = runId;
+        this.weightedEndpoints = settings.mix().entrySet().stream()
+                .flatMap(entry -> Stream.generate(entry::getKey).limit(entry.getValue()))
+                .toArray(Endpoint[]::new);
+    }
+
+    Map<Endpoint, EndpointStats> run(Duration duration) {
+        Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        Flux.range(0, settings.concurrency())
+                .flatMap(worker -> Mono.defer(() -> next(stats)).repeat(() -> System.nanoTime() < deadline),
+                        settings.concurrency())
+                .blockLast(duration.plusMinutes(1));
+        return stats;
+    }
+
+    private Mono<Integer> next(Map<Endpoint, EndpointStats> stats) {
+        Endpoint endpoint = weightedEndpoints[ThreadLocalRandom.current().nextInt(weightedEndpoints.length)];
+        EndpointStats endpointStats = stats.get(endpoint);
+        long start = System.nanoTime();
+        return call(endpoint)
+                .doOnNext(status -> endpointStats.record(System.nanoTime() - start, status == endpoint.expectedStatus()))
+                .onErrorResume(e -> {
+                    endpointStats.record(System.nanoTime() - start, false);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Integer> call(Endpoint endpoint) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return switch (endpoint) {
+            case SIGN_UP -> {
+                String username = "lt" + runId + Long.toString(signUpSequence.incrementAndGet(), 36);
+                yield exchange(client.post().uri("/api/auth/sign-up")
+                        .bodyValue(Map.of("username", username, "password", PASSWORD, "email", username + "@loadtest.local")));
+            }
+            case SIGN_IN -> exchange(client.post().uri("/api/auth/sign-in")
+                    .bodyValue(Map.of("username", usernames.get(random.nextInt(usernames.size())), "password", PASSWORD)));
+            case AUTHENTICATED -> exchange(client.get().uri("/api/users/me")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokens.get(random.nextInt(tokens.size()))));
+        };
+    }
+
+    private static Mono<Integer> exchange(WebClient.RequestHeadersSpec<?> request) {
+        return request.exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().value()));
+    }
+}
@@ -0,0 +1,47 @@
+package com.lms.examready.loadtest;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Load test parameters, read from {@code loadtest.*} system properties (pass them to Gradle as
+ * {@code -Ploadtest.concurrency=128}). Mix and SLO values are {@code endpoint=value} lists.
+ */
+record LoadTestSettings(
+        Duration duration,
+        Duration warmup,
+        int concurrency,
+        int seedUsers,
+        Map<Endpoint, Integer> mix,
+        Map<Endpoint, Duration> p99Slo,
+        double maxErrorRate,
+        double minThroughput
+) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 5)),
+                Integer.getInteger("loadtest.concurrency", 64),
+                Integer.getInteger("loadtest.seed-users", 200),
+                parse(System.getProperty("loadtest.mix", "sign-in=60,authenticated=35,sign-up=5"), Integer::parseInt),
+                parse(System.getProperty("loadtest.slo.p99-millis", "sign-in=750,authenticated=50,sign-up=1000"),
+                        value -> Duration.ofMillis(Long.parseLong(value))),
+                Double.parseDouble(System.getProperty("loadtest.slo.max-error-rate", "0.01")),
+                Double.parseDouble(System.getProperty("loadtest.slo.min-throughput", "0")));
+    }
+
+    private static <T> Map<Endpoint, T> parse(String value, Function<String, T> parser) {
+        Map<Endpoint, T> result = new EnumMap<>(Endpoint.class);
+        for (String entry : value.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] keyValue = entry.split("=", 2);
+            result.put(Endpoint.fromKey(keyValue[0]), parser.apply(keyValue[1].trim()));
+        }
+        return result;
+    }
+}
@@ -2,14 +2,35 @@ package com.lms.examready;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.r2dbc.repository.config.EnableR2dbcRepositories;
 
 @SpringBootApplication
 public class ExamReadyApplication {
 
+	/**
+	 * Startup steps kept for {@code /actuator/startup}; later steps are dropped.
+	 */
+	static final int STARTUP_STEPS = 10_000;
+
+	/**
+	 * Profile that applies the database migrations and exits instead of serving.
+	 */
+	public static final String MIGRATE_PROFILE = "migrate";
+
 	public static void main(String[] args) {
-		SpringApplication.run(ExamReadyApplication.class, args);
+		ConfigurableApplicationContext context = application().run(args);
+		if (context.getEnvironment().matchesProfiles(MIGRATE_PROFILE)) {
+			System.exit(SpringApplication.exit(context));
+		}
+	}
+
+	static SpringApplication application() {
+		SpringApplication application = new SpringApplication(ExamReadyApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(STARTUP_STEPS));
+		return application;
 	}
 
 }
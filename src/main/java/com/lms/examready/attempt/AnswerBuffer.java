@@ -0,0 +1,207 @@
+package com.lms.examready.attempt;
+
+import com.lms.examready.repository.AttemptAnswerRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Holds autosaved answers per attempt until they are written with multi-row upserts. Answering a
+ * question again before the flush replaces the buffered answer, so a candidate who changes their mind
+ * ten times between flushes costs one row. Buffers are flushed every {@code flushInterval}, as soon as
+ * {@code batchSize} answers are waiting, and for a single attempt when it is finished.
+ * <p>
+ * Each buffered answer is unique per attempt and question, which is what lets a batch go out as one
+ * {@code INSERT ... ON CONFLICT} statement.
+ */
+@Component
+@Slf4j
+public class AnswerBuffer {
+
+    private final AttemptAnswerRepository attemptAnswerRepository;
+    private final int batchSize;
+    private final int capacity;
+    private final Duration writeTimeout;
+
+    private final ConcurrentMap<UUID, Map<UUID, AttemptAnswer>> buffers = new ConcurrentHashMap<>();
+    private final AtomicInteger buffered = new AtomicInteger();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+
+    private final Counter written;
+    private final Counter coalesced;
+    private final Counter rejected;
+    private final Counter failed;
+
+    public AnswerBuffer(AttemptAnswerRepository attemptAnswerRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${attempt-answers.batch-size:500}") int batchSize,
+                        @Value("${attempt-answers.capacity:100000}") int capacity,
+                        @Value("${attempt-answers.write-timeout:10s}") Duration writeTimeout) {
+        this.attemptAnswerRepository = attemptAnswerRepository;
+        this.batchSize = batchSize;
+        this.capacity = capacity;
+        this.writeTimeout = writeTimeout;
+
+        this.written = Counter.builder("exam.answers.written").register(meterRegistry);
+        this.coalesced = Counter.builder("exam.answers.coalesced")
+                .description("Buffered answers replaced by a newer answer to the same question before the flush")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("exam.answers.rejected")
+                .description("Answers the upsert skipped: given after their attempt finished, or older than the stored one")
+                .register(meterRegistry);
+        this.failed = Counter.builder("exam.answers.write-failures").register(meterRegistry);
+        Gauge.builder("exam.answers.buffered", buffered, AtomicInteger::get).register(meterRegistry);
+    }
+
+    /**
+     * Buffers the answers of one attempt.
+     *
+     * @return {@code false}, buffering nothing, when the buffer is full
+     */
+    public boolean add(UUID attemptId, Collection<AttemptAnswer> answers) {
+        if (buffered.get() >= capacity) {
+            return false;
+        }
+        coalesced.increment(merge(attemptId, answers));
+        if (buffered.get() >= batchSize) {
+            flushInBackground();
+        }
+        return true;
+    }
+
+    /**
+     * Writes everything buffered for one attempt together with {@code finalAnswers}, which take
+     * precedence over buffered answers to the same questions.
+     */
+    public Mono<Long> flush(UUID attemptId, Collection<AttemptAnswer> finalAnswers) {
+        return Mono.defer(() -> {
+            Map<UUID, AttemptAnswer> answers = drain(attemptId);
+            finalAnswers.forEach(answer -> answers.merge(answer.questionId(), answer,
+                    (current, candidate) -> candidate.isNewerThan(current) ? candidate : current));
+            return write(new ArrayList<>(answers.values()));
+        });
+    }
+
+    /**
+     * Writes everything buffered, in batches of up to {@code batchSize}. A failed batch does not stop the
+     * others.
+     */
+    public Mono<Long> flush() {
+        return Mono.defer(() -> {
+            List<AttemptAnswer> answers = new ArrayList<>();
+            for (UUID attemptId : buffers.keySet()) {
+                answers.addAll(drain(attemptId).values());
+            }
+            return Flux.fromIterable(answers)
+                    .buffer(batchSize)
+                    .concatMap(batch -> write(batch).onErrorResume(e -> Mono.just(0L)))
+                    .reduce(0L, Long::sum);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${attempt-answers.flush-interval:PT2S}")
+    public void flushScheduled() {
+        if (flushing.compareAndSet(false, true)) {
+            try {
+                flush().block(writeTimeout);
+            } catch (RuntimeException e) {
+                log.warn("Answer flush did not complete", e);
+            } finally {
+                flushing.set(false);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        flush().block(writeTimeout);
+    }
+
+    int buffered() {
+        return buffered.get();
+    }
+
+    private void flushInBackground() {
+        if (flushing.compareAndSet(false, true)) {
+            flush()
+                    .doFinally(signal -> flushing.set(false))
+                    .subscribe(null, e -> log.warn("Answer flush did not complete", e));
+        }
+    }
+
+    /**
+     * @return how many of the answers replaced, or lost to, one already buffered
+     */
+    private int merge(UUID attemptId, Collection<AttemptAnswer> answers) {
+        int[] replaced = new int[1];
+        buffers.compute(attemptId, (id, current) -> {
+            Map<UUID, AttemptAnswer> buffer = current != null ? current : new HashMap<>();
+            for (AttemptAnswer answer : answers) {
+                AttemptAnswer previous = buffer.get(answer.questionId());
+                if (previous == null) {
+                    buffer.put(answer.questionId(), answer);
+                    buffered.incrementAndGet();
+                } else {
+                    if (answer.isNewerThan(previous)) {
+                        buffer.put(answer.questionId(), answer);
+                    }
+                    replaced[0]++;
+                }
+            }
+            return buffer;
+        });
+        return replaced[0];
+    }
+
+    private Map<UUID, AttemptAnswer> drain(UUID attemptId) {
+        Map<UUID, AttemptAnswer> answers = buffers.remove(attemptId);
+        if (answers == null) {
+            return new HashMap<>();
+        }
+        buffered.addAndGet(-answers.size());
+        return answers;
+    }
+
+    /**
+     * On failure the answers are put back, unless a newer answer to the same question arrived meanwhile,
+     * and are retried with the next flush. Answers the upsert skipped are counted and logged rather than
+     * lost silently.
+     */
+    private Mono<Long> write(List<AttemptAnswer> answers) {
+        return attemptAnswerRepository.upsertAll(answers)
+                .doOnNext(rows -> {
+                    written.increment(rows);
+                    long skipped = answers.size() - rows;
+                    if (skipped > 0) {
+                        rejected.increment(skipped);
+                        log.info("{} of {} answers were not written: their attempt had finished or a newer answer "
+                                + "was stored", skipped, answers.size());
+                    }
+                })
+                .onErrorResume(e -> {
+                    failed.increment(answers.size());
+                    log.warn("Could not write {} answers, keeping them for the next flush", answers.size(), e);
+                    answers.forEach(answer -> merge(answer.attemptId(), List.of(answer)));
+                    return Mono.error(e);
+                });
+    }
+}
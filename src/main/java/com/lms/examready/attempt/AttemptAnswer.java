@@ -0,0 +1,20 @@
+package com.lms.examready.attempt;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * The choice a candidate made for one question. When the same question is answered again before the
+ * buffer is flushed, only the answer with the latest {@code answeredAt} is kept.
+ */
+public record AttemptAnswer(
+        UUID attemptId,
+        UUID questionId,
+        short choice,
+        LocalDateTime answeredAt
+) {
+
+    public boolean isNewerThan(AttemptAnswer other) {
+        return other == null || !answeredAt.isBefore(other.answeredAt);
+    }
+}
@@ -0,0 +1,20 @@
+package com.lms.examready.audit;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One audit trail entry. {@code userId} is absent when the username did not resolve to a user.
+ */
+public record AuthEvent(
+        LocalDateTime occurredAt,
+        AuthEventType type,
+        UUID userId,
+        String username,
+        String detail
+) {
+
+    public static AuthEvent of(AuthEventType type, UUID userId, String username, String detail) {
+        return new AuthEvent(LocalDateTime.now(), type, userId, username, detail);
+    }
+}
@@ -0,0 +1,39 @@
+package com.lms.examready.audit;
+
+import com.lms.examready.repository.AuthEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * Keeps monthly {@code auth_events} partitions created ahead of time, so that events never land in the
+ * default partition. A partition cannot be created for a range the default partition already holds rows for.
+ */
+@Component
+@Slf4j
+public class AuthEventPartitionMaintainer {
+
+    private final AuthEventRepository authEventRepository;
+    private final int monthsAhead;
+
+    public AuthEventPartitionMaintainer(AuthEventRepository authEventRepository,
+                                        @Value("${auth-audit.partitions-ahead:2}") int monthsAhead) {
+        this.authEventRepository = authEventRepository;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Scheduled(fixedDelayString = "${auth-audit.partition-check-interval:PT6H}", initialDelay = 0)
+    public void createUpcomingPartitions() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        Flux.range(0, monthsAhead + 1)
+                .map(currentMonth::plusMonths)
+                .concatMap(authEventRepository::createMonthlyPartition)
+                .doOnError(e -> log.error("Could not create auth_events partitions", e))
+                .onErrorComplete()
+                .blockLast();
+    }
+}
@@ -0,0 +1,177 @@
+package com.lms.examready.audit;
+
+import com.lms.examready.repository.AuthEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers authentication audit events in a bounded queue and writes them to {@code auth_events} from a
+ * single background thread, in multi-row batches of up to {@code batchSize} or whatever arrived within
+ * {@code flushInterval} of the first buffered event. {@link #publish} never blocks or performs I/O;
+ * when the buffer is full the {@link OverflowPolicy} decides which event is dropped. With
+ * {@code auth-audit.enabled=false}, as in the {@code migrate} profile, no writer is started and events
+ * are discarded.
+ */
+@Component
+@Slf4j
+public class AuthEventPublisher {
+
+    private static final String DROPPED = "auth.audit.dropped";
+    private static final long STOP_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final AuthEventRepository authEventRepository;
+    private final BlockingQueue<AuthEvent> buffer;
+    private final int batchSize;
+    private final Duration flushInterval;
+    private final Duration writeTimeout;
+    private final OverflowPolicy overflowPolicy;
+    private final boolean enabled;
+
+    private final Counter written;
+    private final Counter droppedOnOverflow;
+    private final Counter droppedOnWriteFailure;
+    private final Timer lag;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public AuthEventPublisher(AuthEventRepository authEventRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth-audit.buffer-capacity:10000}") int bufferCapacity,
+                              @Value("${auth-audit.batch-size:500}") int batchSize,
+                              @Value("${auth-audit.flush-interval:1s}") Duration flushInterval,
+                              @Value("${auth-audit.write-timeout:10s}") Duration writeTimeout,
+                              @Value("${auth-audit.overflow-policy:DROP_NEWEST}") OverflowPolicy overflowPolicy,
+                              @Value("${auth-audit.enabled:true}") boolean enabled) {
+        this.authEventRepository = authEventRepository;
+        this.buffer = new ArrayBlockingQueue<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.flushInterval = flushInterval;
+        this.writeTimeout = writeTimeout;
+        this.overflowPolicy = overflowPolicy;
+        this.enabled = enabled;
+
+        this.written = Counter.builder("auth.audit.written").register(meterRegistry);
+        this.droppedOnOverflow = Counter.builder(DROPPED).tag("reason", "overflow").register(meterRegistry);
+        this.droppedOnWriteFailure = Counter.builder(DROPPED).tag("reason", "write-failed").register(meterRegistry);
+        this.lag = Timer.builder("auth.audit.lag")
+                .description("Age of the oldest event in each batch when it was written")
+                .register(meterRegistry);
+        Gauge.builder("auth.audit.buffered", buffer, BlockingQueue::size).register(meterRegistry);
+    }
+
+    /**
+     * @return whether the event was buffered
+     */
+    public boolean publish(AuthEvent event) {
+        if (!enabled) {
+            return false;
+        }
+        if (buffer.offer(event)) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.DROP_OLDEST) {
+            while (buffer.poll() != null) {
+                droppedOnOverflow.increment();
+                if (buffer.offer(event)) {
+                    return true;
+                }
+            }
+        }
+        droppedOnOverflow.increment();
+        return false;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "auth-audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Stops the writer once everything still buffered has been written.
+     */
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writer != null) {
+            writer.join(flushInterval.plus(writeTimeout).toMillis());
+        }
+    }
+
+    private void run() {
+        List<AuthEvent> batch = new ArrayList<>(batchSize);
+        try {
+            while (running || !buffer.isEmpty()) {
+                collect(batch);
+                flush(batch);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            flush(batch);
+        }
+    }
+
+    /**
+     * Waits for a first event, then keeps collecting until the batch is full or {@code flushInterval}
+     * has passed since that event. Waits are sliced so that {@link #stop} is noticed promptly.
+     */
+    private void collect(List<AuthEvent> batch) throws InterruptedException {
+        AuthEvent first = buffer.poll(Math.min(flushInterval.toNanos(), STOP_CHECK_NANOS), TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + flushInterval.toNanos();
+        while (true) {
+            buffer.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            AuthEvent next = buffer.poll(Math.min(remaining, STOP_CHECK_NANOS), TimeUnit.NANOSECONDS);
+            if (next != null) {
+                batch.add(next);
+            }
+        }
+    }
+
+    private void flush(List<AuthEvent> batch) {
+        if (!batch.isEmpty()) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuthEvent> batch) {
+        LocalDateTime oldest = batch.get(0).occurredAt();
+        try {
+            authEventRepository.insertAll(List.copyOf(batch)).block(writeTimeout);
+            written.increment(batch.size());
+            lag.record(Duration.between(oldest, LocalDateTime.now()));
+        } catch (RuntimeException e) {
+            droppedOnWriteFailure.increment(batch.size());
+            log.warn("Dropped {} audit events after a failed write: {}", batch.size(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.lms.examready.audit;
+
+public enum AuthEventType {
+    SIGN_IN_SUCCEEDED, SIGN_IN_FAILED, SIGNED_UP, SIGNED_OUT
+}
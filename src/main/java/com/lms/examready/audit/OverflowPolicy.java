@@ -0,0 +1,15 @@
+package com.lms.examready.audit;
+
+/**
+ * What to do with a new audit event when the buffer is full. Publishers never block.
+ */
+public enum OverflowPolicy {
+    /**
+     * Keep what is buffered and discard the new event.
+     */
+    DROP_NEWEST,
+    /**
+     * Discard the oldest buffered event to make room, favouring recent activity.
+     */
+    DROP_OLDEST
+}
@@ -0,0 +1,129 @@
+package com.lms.examready.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.examready.model.Question;
+import com.lms.examready.repository.ExamRepository;
+import com.lms.examready.repository.QuestionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Serves published exams from in-process {@link ExamSnapshot}s. A miss is loaded once however many
+ * requests are waiting for it; after that the exam is only read again when the database announces a
+ * newer {@code content_version} (see {@link ExamContentListener}). The rebuild runs in the background
+ * while requests keep getting the previous snapshot, and the new one replaces it in a single map update.
+ */
+@Component
+@Slf4j
+public class ExamContentCache {
+
+    private final ExamRepository examRepository;
+    private final QuestionRepository questionRepository;
+    private final int pageSize;
+    private final Cache<UUID, ExamSnapshot> snapshots;
+    private final Cache<UUID, Long> announcedVersions;
+    private final RequestCoalescer<UUID, ExamSnapshot> loads;
+    private final Counter rebuilds;
+
+    public ExamContentCache(ExamRepository examRepository,
+                            QuestionRepository questionRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${exam-content.cache.maximum-size:1000}") long maximumSize,
+                            @Value("${exam.questions.page-size:200}") int pageSize) {
+        this.examRepository = examRepository;
+        this.questionRepository = questionRepository;
+        this.pageSize = pageSize;
+        this.snapshots = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        this.announcedVersions = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+        this.loads = new RequestCoalescer<>("exams.snapshot", meterRegistry);
+        this.rebuilds = Counter.builder("exams.snapshot.rebuilds")
+                .description("Snapshots rebuilt after a content change notification")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, snapshots, "exams.snapshots");
+    }
+
+    /**
+     * The current snapshot of a published exam, or empty if the exam does not exist or is not published.
+     */
+    public Mono<ExamSnapshot> get(UUID examId) {
+        ExamSnapshot snapshot = snapshots.getIfPresent(examId);
+        if (snapshot != null) {
+            return Mono.just(snapshot);
+        }
+        return loads.execute(examId, id -> read(id).doOnNext(this::install));
+    }
+
+    /**
+     * Called when the database announces a new content version. Cached exams that are behind are
+     * rebuilt; exams nobody has asked for yet are left alone.
+     */
+    public void onContentChanged(UUID examId, long version) {
+        announcedVersions.asMap().merge(examId, version, Math::max);
+        ExamSnapshot snapshot = snapshots.getIfPresent(examId);
+        if (snapshot != null && snapshot.version() < version) {
+            rebuild(examId);
+        }
+    }
+
+    /**
+     * Rebuilds every cached exam, for when notifications may have been missed (e.g. while reconnecting).
+     */
+    public void rebuildAll() {
+        snapshots.asMap().keySet().forEach(this::rebuild);
+    }
+
+    void rebuild(UUID examId) {
+        rebuilds.increment();
+        read(examId)
+                .doOnNext(this::install)
+                .switchIfEmpty(Mono.fromRunnable(() -> snapshots.invalidate(examId)))
+                .subscribe(null, e -> log.warn("Could not rebuild exam snapshot {}, keeping the cached one", examId, e));
+    }
+
+    /**
+     * Keeps whichever snapshot has the higher version, so a slow load that started before a change
+     * can never overwrite the rebuild that followed it. A load that turns out to be older than an
+     * announced version is installed but immediately rebuilt.
+     */
+    private void install(ExamSnapshot snapshot) {
+        snapshots.asMap().merge(snapshot.examId(), snapshot,
+                (current, candidate) -> candidate.version() >= current.version() ? candidate : current);
+        Long announced = announcedVersions.getIfPresent(snapshot.examId());
+        if (announced != null && snapshot.version() < announced) {
+            rebuild(snapshot.examId());
+        }
+    }
+
+    /**
+     * Reads the exam row before its questions: the version recorded in the snapshot is then never newer
+     * than the questions, so a change that lands between the two reads is still announced and rebuilt.
+     */
+    private Mono<ExamSnapshot> read(UUID examId) {
+        return examRepository.findByIdAndPublishedTrue(examId)
+                .flatMap(exam -> page(examId, 0)
+                        .expand(page -> page.size() < pageSize
+                                ? Mono.empty()
+                                : page(examId, page.get(page.size() - 1).getPosition()))
+                        .concatMapIterable(page -> page)
+                        .collectList()
+                        .map(questions -> ExamSnapshot.of(exam, questions)));
+    }
+
+    private Mono<List<Question>> page(UUID examId, int afterPosition) {
+        return questionRepository.findPage(examId, afterPosition, pageSize).collectList();
+    }
+}
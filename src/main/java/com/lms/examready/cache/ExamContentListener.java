@@ -0,0 +1,156 @@
+package com.lms.examready.cache;
+
+import com.lms.examready.live.ExamEvent;
+import com.lms.examready.live.ExamEventHub;
+import com.lms.examready.service.ExamAttemptService;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Listens on the {@code exam_content} channel, which the exam and question triggers notify with
+ * {@code <exam id>:<content version>}, and forwards every change to the {@link ExamContentCache} and to
+ * connected candidates. Announcements ({@code <exam id>:<message>} on
+ * {@link ExamEventHub#ANNOUNCEMENTS_CHANNEL}) and user changes ({@code <user id>:<old username>} on
+ * {@code user_changed}, evicted from the {@link UserCache}) and finished attempts ({@code <attempt id>:<status>}
+ * on {@code attempt_finished}, evicted from the open attempts of {@link ExamAttemptService}) arrive over the same
+ * connection.
+ * <p>
+ * {@code LISTEN} is bound to a session, so this holds one dedicated connection that is opened from the
+ * factory underneath the pool rather than borrowed from it. When the connection drops it is reopened
+ * with backoff, every cached exam is rebuilt and the user and open attempt caches are cleared, since
+ * changes made meanwhile were not announced to us.
+ */
+@Component
+@ConditionalOnProperty(name = "exam-content.listen.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ExamContentListener implements SmartLifecycle {
+
+    static final String CHANNEL = "exam_content";
+    static final String USER_CHANNEL = "user_changed";
+    static final String ATTEMPT_CHANNEL = "attempt_finished";
+    private static final String LISTEN = "LISTEN " + CHANNEL + "; LISTEN " + ExamEventHub.ANNOUNCEMENTS_CHANNEL
+            + "; LISTEN " + USER_CHANNEL + "; LISTEN " + ATTEMPT_CHANNEL;
+
+    private final ConnectionFactory connectionFactory;
+    private final ExamContentCache examContentCache;
+    private final ExamEventHub examEventHub;
+    private final UserCache userCache;
+    private final ExamAttemptService examAttemptService;
+    private final Duration maxBackoff;
+
+    private volatile Disposable subscription;
+
+    public ExamContentListener(ConnectionFactory connectionFactory,
+                               ExamContentCache examContentCache,
+                               ExamEventHub examEventHub,
+                               UserCache userCache,
+                               ExamAttemptService examAttemptService,
+                               @Value("${exam-content.listen.max-backoff:30s}") Duration maxBackoff) {
+        this.connectionFactory = connectionFactory;
+        this.examContentCache = examContentCache;
+        this.examEventHub = examEventHub;
+        this.userCache = userCache;
+        this.examAttemptService = examAttemptService;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @Override
+    public void start() {
+        subscription = listen()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(maxBackoff)
+                        .doBeforeRetry(signal -> log.warn("Exam content listener disconnected, reconnecting",
+                                signal.failure())))
+                .subscribe(this::onNotification);
+    }
+
+    @Override
+    public void stop() {
+        Disposable current = subscription;
+        if (current != null) {
+            current.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null;
+    }
+
+    private Flux<Notification> listen() {
+        return Flux.usingWhen(
+                Mono.from(unwrap(connectionFactory).create()).cast(PostgresqlConnection.class),
+                connection -> connection.getNotifications()
+                        .mergeWith(connection.createStatement(LISTEN).execute()
+                                .flatMap(result -> result.getRowsUpdated())
+                                .then(Mono.<Notification>fromRunnable(() -> {
+                                    log.info("Listening for exam content changes");
+                                    examContentCache.rebuildAll();
+                                    userCache.invalidateAll();
+                                    examAttemptService.evictOpenAttempts();
+                                })))
+                        .concatWith(Mono.<Notification>error(() ->
+                                new IllegalStateException("Notification stream closed"))),
+                PostgresqlConnection::close);
+    }
+
+    void onNotification(Notification notification) {
+        String payload = notification.getParameter();
+        UUID id;
+        String value;
+        try {
+            int separator = payload.indexOf(':');
+            id = UUID.fromString(payload.substring(0, separator));
+            value = payload.substring(separator + 1);
+        } catch (RuntimeException e) {
+            log.warn("Ignoring malformed {} notification '{}'", notification.getName(), payload);
+            return;
+        }
+
+        if (ATTEMPT_CHANNEL.equals(notification.getName())) {
+            examAttemptService.evictOpenAttempt(id);
+            return;
+        }
+        if (USER_CHANNEL.equals(notification.getName())) {
+            userCache.invalidate(id, value).subscribe();
+            return;
+        }
+        if (ExamEventHub.ANNOUNCEMENTS_CHANNEL.equals(notification.getName())) {
+            examEventHub.publish(id, ExamEvent.announcement(value, LocalDateTime.now()));
+            return;
+        }
+        long version;
+        try {
+            version = Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            log.warn("Ignoring malformed {} notification '{}'", CHANNEL, payload);
+            return;
+        }
+        examContentCache.onContentChanged(id, version);
+        examEventHub.publish(id, ExamEvent.updated(version, LocalDateTime.now()));
+    }
+
+    private static ConnectionFactory unwrap(ConnectionFactory connectionFactory) {
+        ConnectionFactory factory = connectionFactory;
+        while (factory instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof ConnectionFactory inner) {
+            factory = inner;
+        }
+        return factory;
+    }
+}
@@ -0,0 +1,135 @@
+package com.lms.examready.cache;
+
+import com.lms.examready.model.Exam;
+import com.lms.examready.model.Question;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Immutable copy of a published exam at one {@code content_version}. Questions are held column-wise in
+ * parallel arrays ordered by position, so a snapshot is a handful of objects however many questions the
+ * exam has, and it can be shared by every request without copying.
+ */
+public final class ExamSnapshot {
+
+    private final UUID examId;
+    private final long version;
+    private final String title;
+    private final String description;
+    private final int durationMinutes;
+
+    private final UUID[] questionIds;
+    private final int[] positions;
+    private final String[] prompts;
+    private final List<String>[] choices;
+    private final short[] correctChoices;
+    private final short[] points;
+    private final Map<UUID, Integer> indexById;
+
+    @SuppressWarnings("unchecked")
+    private ExamSnapshot(Exam exam, List<Question> questions) {
+        this.examId = exam.getId();
+        this.version = exam.getContentVersion();
+        this.title = exam.getTitle();
+        this.description = exam.getDescription();
+        this.durationMinutes = exam.getDurationMinutes();
+
+        int size = questions.size();
+        this.questionIds = new UUID[size];
+        this.positions = new int[size];
+        this.prompts = new String[size];
+        this.choices = new List[size];
+        this.correctChoices = new short[size];
+        this.points = new short[size];
+        Map<UUID, Integer> indexById = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            Question question = questions.get(i);
+            if (i > 0 && question.getPosition() <= positions[i - 1]) {
+                throw new IllegalArgumentException("Questions must be ordered by position");
+            }
+            questionIds[i] = question.getId();
+            positions[i] = question.getPosition();
+            prompts[i] = question.getPrompt();
+            choices[i] = List.of(question.getChoices());
+            correctChoices[i] = question.getCorrectChoice();
+            points[i] = question.getPoints();
+            indexById.put(question.getId(), i);
+        }
+        this.indexById = Map.copyOf(indexById);
+    }
+
+    /**
+     * Builds a snapshot from the exam row and all of its questions in position order.
+     */
+    public static ExamSnapshot of(Exam exam, List<Question> questions) {
+        return new ExamSnapshot(exam, questions);
+    }
+
+    public UUID examId() {
+        return examId;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public String title() {
+        return title;
+    }
+
+    public String description() {
+        return description;
+    }
+
+    public int durationMinutes() {
+        return durationMinutes;
+    }
+
+    public int size() {
+        return positions.length;
+    }
+
+    /**
+     * Index of the first question positioned after {@code position}, or {@link #size()} if there is none.
+     */
+    public int indexAfter(int position) {
+        int index = Arrays.binarySearch(positions, position);
+        return index >= 0 ? index + 1 : -index - 1;
+    }
+
+    /**
+     * Index of the question with the given id, or {@code -1} if it is not part of this exam.
+     */
+    public int indexOf(UUID questionId) {
+        Integer index = indexById.get(questionId);
+        return index != null ? index : -1;
+    }
+
+    public UUID questionId(int index) {
+        return questionIds[index];
+    }
+
+    public int position(int index) {
+        return positions[index];
+    }
+
+    public String prompt(int index) {
+        return prompts[index];
+    }
+
+    public List<String> choices(int index) {
+        return choices[index];
+    }
+
+    public short correctChoice(int index) {
+        return correctChoices[index];
+    }
+
+    public short points(int index) {
+        return points[index];
+    }
+}
@@ -0,0 +1,81 @@
+package com.lms.examready.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.examready.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+public class LocalUserCache implements UserCache {
+
+    private final Cache<String, User> byUsername;
+    private final Cache<UUID, User> byId;
+    private final Cache<UUID, Instant> invalidations;
+
+    private volatile Instant invalidatedAllAt = Instant.MIN;
+
+    public LocalUserCache(MeterRegistry meterRegistry, long maximumSize, Duration ttl) {
+        this.byUsername = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.invalidations = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byUsername, "users.by-username");
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.by-id");
+    }
+
+    @Override
+    public Mono<User> getByUsername(String username) {
+        return Mono.justOrEmpty(byUsername.getIfPresent(username));
+    }
+
+    @Override
+    public Mono<User> getById(UUID id) {
+        return Mono.justOrEmpty(byId.getIfPresent(id));
+    }
+
+    @Override
+    public Mono<Void> put(User user, Instant loadedAt) {
+        return Mono.fromRunnable(() -> {
+            Instant invalidatedAt = invalidations.getIfPresent(user.getId());
+            if (invalidatedAllAt.isBefore(loadedAt) && (invalidatedAt == null || invalidatedAt.isBefore(loadedAt))) {
+                byUsername.put(user.getUsername(), user);
+                byId.put(user.getId(), user);
+            }
+        });
+    }
+
+    @Override
+    public Mono<Void> invalidate(UUID id, String username) {
+        return Mono.fromRunnable(() -> {
+            invalidations.put(id, Instant.now());
+            byUsername.invalidate(username);
+            User cached = byId.getIfPresent(id);
+            if (cached != null) {
+                byUsername.invalidate(cached.getUsername());
+            }
+            byId.invalidate(id);
+        });
+    }
+
+    @Override
+    public void invalidateAll() {
+        invalidatedAllAt = Instant.now();
+        byUsername.invalidateAll();
+        byId.invalidateAll();
+    }
+}
@@ -0,0 +1,64 @@
+package com.lms.examready.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Deduplicates concurrent loads of the same key: while a load is in flight, further subscribers for
+ * that key share its result instead of starting their own. The entry is removed as soon as the load
+ * terminates, so nothing is cached beyond the lifetime of a single query.
+ */
+public class RequestCoalescer<K, V> {
+
+    private static final String REQUESTS = "coalescer.requests";
+
+    private final ConcurrentMap<K, Mono<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public RequestCoalescer(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder(REQUESTS).tag("name", name).tag("result", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder(REQUESTS).tag("name", name).tag("result", "coalesced")
+                .description("Loads that joined one already in flight, i.e. saved round trips")
+                .register(meterRegistry);
+    }
+
+    public Mono<V> execute(K key, Function<K, Mono<V>> loader) {
+        return Mono.defer(() -> {
+            Mono<V> existing = inFlight.get(key);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+            Load load = new Load(key, loader);
+            existing = inFlight.putIfAbsent(key, load.shared);
+            if (existing != null) {
+                coalesced.increment();
+                return existing;
+            }
+            executed.increment();
+            return load.shared;
+        });
+    }
+
+    int inFlight() {
+        return inFlight.size();
+    }
+
+    private final class Load {
+
+        private final Mono<V> shared;
+
+        private Load(K key, Function<K, Mono<V>> loader) {
+            this.shared = Mono.defer(() -> loader.apply(key))
+                    .doFinally(signal -> inFlight.remove(key, this.shared))
+                    .share();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.lms.examready.cache;
+
+import com.lms.examready.model.User;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Cache of {@link User} rows in front of {@code UserRepository}. The default implementation is
+ * in-process and kept coherent across nodes by {@link ExamContentListener}, which evicts users changed
+ * on any node; a shared store can be plugged in by providing another bean under a different
+ * {@code user-cache.type}.
+ */
+public interface UserCache {
+
+    Mono<User> getByUsername(String username);
+
+    Mono<User> getById(UUID id);
+
+    /**
+     * Caches a row that was read from the database at {@code loadedAt}. The row is dropped if the
+     * user was invalidated after that instant, so a read racing with a write never re-caches stale data.
+     */
+    Mono<Void> put(User user, Instant loadedAt);
+
+    default Mono<Void> invalidate(User user) {
+        return invalidate(user.getId(), user.getUsername());
+    }
+
+    /**
+     * Drops the user cached under either key. Also called for changes made on other nodes, which the
+     * {@code user_changed} notification announces.
+     */
+    Mono<Void> invalidate(UUID id, String username);
+
+    /**
+     * Drops every cached user, e.g. after notifications may have been missed.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,27 @@
+package com.lms.examready.cache;
+
+import com.lms.examready.model.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class UserCacheConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "user-cache.type", havingValue = "local", matchIfMissing = true)
+    public UserCache localUserCache(MeterRegistry meterRegistry,
+                                    @Value("${user-cache.maximum-size:10000}") long maximumSize,
+                                    @Value("${user-cache.ttl:5m}") Duration ttl) {
+        return new LocalUserCache(meterRegistry, maximumSize, ttl);
+    }
+
+    @Bean
+    public RequestCoalescer<String, User> usernameLookupCoalescer(MeterRegistry meterRegistry) {
+        return new RequestCoalescer<>("users.by-username", meterRegistry);
+    }
+}
@@ -0,0 +1,95 @@
+package com.lms.examready.config;
+
+import com.lms.examready.ExamReadyApplication;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.PoolMetrics;
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Opens the pool's initial connections before the application reports ready, so the first requests
+ * after a deploy do not pay connection setup. Until warm-up has succeeded this indicator reports
+ * {@code OUT_OF_SERVICE} on {@code /actuator/health}; a failed warm-up is shown in the health details
+ * and retried every {@code r2dbc-pool.warmup-retry-interval}.
+ */
+@Component
+@Profile("!" + ExamReadyApplication.MIGRATE_PROFILE)
+@Slf4j
+public class ConnectionPoolWarmup implements ApplicationRunner, HealthIndicator {
+
+    private final ConnectionFactory connectionFactory;
+    private final Duration timeout;
+
+    private volatile boolean warmedUp;
+    private volatile RuntimeException warmupFailure;
+
+    public ConnectionPoolWarmup(ConnectionFactory connectionFactory,
+                                @Value("${r2dbc-pool.warmup-timeout:30s}") Duration timeout) {
+        this.connectionFactory = connectionFactory;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        warmUp();
+    }
+
+    /**
+     * Retries a failed warm-up. Does nothing before the first attempt or once warm-up has succeeded.
+     */
+    @Scheduled(fixedDelayString = "${r2dbc-pool.warmup-retry-interval:PT10S}",
+            initialDelayString = "${r2dbc-pool.warmup-retry-interval:PT10S}")
+    public void retryWarmup() {
+        if (!warmedUp && warmupFailure != null) {
+            warmUp();
+        }
+    }
+
+    synchronized void warmUp() {
+        if (warmedUp) {
+            return;
+        }
+        if (connectionFactory instanceof ConnectionPool pool) {
+            try {
+                Integer connections = pool.warmup().block(timeout);
+                log.info("R2DBC connection pool warmed up with {} connections", connections);
+            } catch (RuntimeException e) {
+                warmupFailure = e;
+                log.warn("R2DBC connection pool warm-up failed, staying out of service until a retry succeeds", e);
+                return;
+            }
+        }
+        warmupFailure = null;
+        warmedUp = true;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmedUp ? Health.up() : Health.outOfService();
+        RuntimeException failure = warmupFailure;
+        if (failure != null) {
+            builder.withDetail("warmupError", String.valueOf(failure.getMessage()));
+        }
+        if (connectionFactory instanceof ConnectionPool pool) {
+            pool.getMetrics().ifPresent(metrics -> withPoolDetails(builder, metrics));
+        }
+        return builder.build();
+    }
+
+    private static void withPoolDetails(Health.Builder builder, PoolMetrics metrics) {
+        builder.withDetail("acquired", metrics.acquiredSize())
+                .withDetail("idle", metrics.idleSize())
+                .withDetail("pending", metrics.pendingAcquireSize())
+                .withDetail("max", metrics.getMaxAllocatedSize());
+    }
+}
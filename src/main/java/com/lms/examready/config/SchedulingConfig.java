@@ -0,0 +1,12 @@
+package com.lms.examready.config;
+
+import com.lms.examready.ExamReadyApplication;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@Profile("!" + ExamReadyApplication.MIGRATE_PROFILE)
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,106 @@
+package com.lms.examready.config;
+
+import com.lms.examready.ExamReadyApplication;
+import com.lms.examready.repository.SchemaHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serving nodes do not migrate ({@code spring.flyway.enabled=false}); migrations are applied once per
+ * rollout by starting the application with the {@code migrate} profile. This check refuses to start a
+ * node whose database has not been migrated to at least the latest migration the node ships with. A
+ * newer schema is accepted, since during a rolling deploy old nodes keep serving after the migration.
+ * <p>
+ * The check runs once all singletons exist but before the context finishes refreshing, so a failed check
+ * aborts startup before the web server binds, scheduled tasks are registered or lifecycle beans start.
+ * {@link StartupConfig} keeps this bean eager under lazy initialization.
+ */
+@Component
+@Profile("!" + ExamReadyApplication.MIGRATE_PROFILE)
+@ConditionalOnProperty(name = "spring.flyway.enabled", havingValue = "false", matchIfMissing = true)
+@Slf4j
+public class SchemaVersionVerifier implements SmartInitializingSingleton {
+
+    private static final Pattern VERSIONED_MIGRATION = Pattern.compile("V([0-9._]+)__.*\\.sql");
+    private static final Comparator<String> VERSION_ORDER = Comparator.comparing(
+            SchemaVersionVerifier::parse, Arrays::compare);
+
+    private final SchemaHistoryRepository schemaHistoryRepository;
+    private final String expectedVersion;
+    private final Duration timeout;
+    private final boolean enabled;
+
+    public SchemaVersionVerifier(SchemaHistoryRepository schemaHistoryRepository,
+                                 @Value("${spring.flyway.locations:classpath:db/migration}") String locations,
+                                 @Value("${schema-version-check.timeout:30s}") Duration timeout,
+                                 @Value("${schema-version-check.enabled:true}") boolean enabled) {
+        this.schemaHistoryRepository = schemaHistoryRepository;
+        this.expectedVersion = latestMigration(locations.split(","));
+        this.timeout = timeout;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        verify();
+    }
+
+    void verify() {
+        if (!enabled || expectedVersion == null) {
+            return;
+        }
+        String current = schemaHistoryRepository.findCurrentVersion().block(timeout);
+        if (current == null || VERSION_ORDER.compare(current, expectedVersion) < 0) {
+            throw new IllegalStateException("Database schema is at version " + current + " but this build needs "
+                    + expectedVersion + "; run the application with the 'migrate' profile first");
+        }
+        log.info("Database schema is at version {} (this build needs {})", current, expectedVersion);
+    }
+
+    String expectedVersion() {
+        return expectedVersion;
+    }
+
+    /**
+     * Highest version among the {@code V<version>__<description>.sql} scripts in the locations, or
+     * {@code null} if there are none.
+     */
+    static String latestMigration(String... locations) {
+        PathMatchingResourcePatternResolver resolver = new PathMatchingResourcePatternResolver();
+        String latest = null;
+        try {
+            for (String location : locations) {
+                for (Resource resource : resolver.getResources(location.trim() + "/V*__*.sql")) {
+                    Matcher matcher = VERSIONED_MIGRATION.matcher(resource.getFilename());
+                    if (matcher.matches() && (latest == null || VERSION_ORDER.compare(matcher.group(1), latest) > 0)) {
+                        latest = matcher.group(1);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list migrations", e);
+        }
+        return latest;
+    }
+
+    /**
+     * Flyway versions are dot or underscore separated numbers ({@code 9}, {@code 1.2}, {@code 1_2}).
+     */
+    private static int[] parse(String version) {
+        return Arrays.stream(version.split("[._]")).mapToInt(Integer::parseInt).toArray();
+    }
+}
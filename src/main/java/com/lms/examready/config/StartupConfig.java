@@ -0,0 +1,31 @@
+package com.lms.examready.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+
+/**
+ * Keeps lazy initialization ({@code spring.main.lazy-initialization}, on in the {@code fast-startup}
+ * profile) from switching off background work: a bean with {@code @Scheduled} methods is often not
+ * referenced by anything else, so if it were lazy it would never be created and its schedule never
+ * registered. Such beans stay eager, as does the {@link SchemaVersionVerifier}, which must run before
+ * the node starts serving; everything else is created on first use.
+ */
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    static LazyInitializationExcludeFilter scheduledBeansAreEager() {
+        return (beanName, beanDefinition, beanType) -> beanType != null && !MethodIntrospector.selectMethods(beanType,
+                (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+                        AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+    }
+
+    @Bean
+    static LazyInitializationExcludeFilter schemaVersionVerifierIsEager() {
+        return LazyInitializationExcludeFilter.forBeanTypes(SchemaVersionVerifier.class);
+    }
+}
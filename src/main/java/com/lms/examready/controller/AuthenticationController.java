@@ -1,13 +1,17 @@
 package com.lms.examready.controller;
 
+import com.lms.examready.dto.request.RefreshTokenRequestDto;
 import com.lms.examready.dto.request.SignInRequestDto;
 import com.lms.examready.dto.request.SignUpRequestDto;
+import com.lms.examready.dto.response.TokenResponseDto;
 import com.lms.examready.dto.response.UserResponseDto;
+import com.lms.examready.security.jwt.JwtProvider;
 import com.lms.examready.service.AuthenticationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
@@ -20,7 +24,10 @@ import static org.springframework.http.HttpStatus.*;
 @RequiredArgsConstructor
 public class AuthenticationController {
 
+    public static final String REFRESH_TOKEN_HEADER = "Refresh-Token";
+
     private final AuthenticationService authenticationService;
+    private final JwtProvider jwtProvider;
 
     @PostMapping("/sign-up")
     public Mono<ResponseEntity<UserResponseDto>> signUp(@Valid @RequestBody SignUpRequestDto signUpRequestDto) {
@@ -31,10 +38,36 @@ public class AuthenticationController {
 
     @PostMapping("/sign-in")
     public Mono<ResponseEntity<Void>> signIn(@Valid @RequestBody SignInRequestDto signInRequestDto) {
-        return authenticationService.signIn(signInRequestDto)
-                .map(jwt -> {
+        return toResponse(authenticationService.signIn(signInRequestDto));
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<Void>> refresh(@Valid @RequestBody RefreshTokenRequestDto refreshTokenRequestDto) {
+        return toResponse(authenticationService.refresh(refreshTokenRequestDto));
+    }
+
+    /**
+     * Revokes the bearer access token and, when sent, the refresh token family. 401 without a bearer token.
+     */
+    @PostMapping("/sign-out")
+    public Mono<ResponseEntity<Void>> signOut(ServerHttpRequest request,
+                                              @RequestHeader(value = REFRESH_TOKEN_HEADER, required = false) String refreshToken) {
+        String accessToken = jwtProvider.resolveToken(request);
+        if (accessToken == null) {
+            return Mono.just(new ResponseEntity<>(UNAUTHORIZED));
+        }
+        return authenticationService.signOut(accessToken, refreshToken)
+                .thenReturn(new ResponseEntity<Void>(NO_CONTENT))
+                .onErrorResume(BadCredentialsException.class, e ->
+                        Mono.just(new ResponseEntity<>(UNAUTHORIZED)));
+    }
+
+    private Mono<ResponseEntity<Void>> toResponse(Mono<TokenResponseDto> tokens) {
+        return tokens
+                .map(tokenResponseDto -> {
                             HttpHeaders headers = new HttpHeaders();
-                            headers.add(AUTHORIZATION, "Bearer " + jwt);
+                            headers.add(AUTHORIZATION, "Bearer " + tokenResponseDto.accessToken());
+                            headers.add(REFRESH_TOKEN_HEADER, tokenResponseDto.refreshToken());
                             return new ResponseEntity<Void>(headers, OK);
                         }
                 )
@@ -0,0 +1,28 @@
+package com.lms.examready.controller;
+
+import com.lms.examready.dto.request.AnnouncementRequestDto;
+import com.lms.examready.service.ExamEventService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+import static org.springframework.http.HttpStatus.ACCEPTED;
+
+@RestController
+@RequestMapping("/api/admin/exams")
+@RequiredArgsConstructor
+public class ExamAnnouncementController {
+
+    private final ExamEventService examEventService;
+
+    @PostMapping("/{examId}/announcements")
+    public Mono<ResponseEntity<Void>> announce(@PathVariable UUID examId,
+                                               @Valid @RequestBody AnnouncementRequestDto request) {
+        return examEventService.announce(examId, request.message())
+                .thenReturn(new ResponseEntity<>(ACCEPTED));
+    }
+}
@@ -0,0 +1,76 @@
+package com.lms.examready.controller;
+
+import com.lms.examready.dto.request.StartAttemptRequestDto;
+import com.lms.examready.dto.request.SubmitAnswersRequestDto;
+import com.lms.examready.dto.response.AnswersAcceptedDto;
+import com.lms.examready.dto.response.AttemptResponseDto;
+import com.lms.examready.service.ExamAttemptService;
+import com.lms.examready.service.ExamEventService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.springframework.http.HttpStatus.ACCEPTED;
+import static org.springframework.http.HttpStatus.CREATED;
+
+@RestController
+@RequestMapping("/api/attempts")
+@RequiredArgsConstructor
+public class ExamAttemptController {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    private final ExamAttemptService examAttemptService;
+    private final ExamEventService examEventService;
+
+    @PostMapping
+    public Mono<ResponseEntity<AttemptResponseDto>> start(@AuthenticationPrincipal UUID userId,
+                                                          @Valid @RequestBody StartAttemptRequestDto request) {
+        return examAttemptService.start(userId, request.examId())
+                .map(attempt -> new ResponseEntity<>(AttemptResponseDto.from(attempt), CREATED));
+    }
+
+    /**
+     * Autosave. Answers are acknowledged once buffered; retries should repeat the {@code Idempotency-Key}.
+     */
+    @PutMapping("/{attemptId}/answers")
+    public Mono<ResponseEntity<AnswersAcceptedDto>> submitAnswers(
+            @AuthenticationPrincipal UUID userId,
+            @PathVariable UUID attemptId,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+            @Valid @RequestBody SubmitAnswersRequestDto request) {
+        return examAttemptService.submitAnswers(userId, attemptId, idempotencyKey, request.answers())
+                .map(accepted -> new ResponseEntity<>(accepted, ACCEPTED));
+    }
+
+    /**
+     * Finishes the attempt. Sending the final state of all answers with the request guarantees they are
+     * saved even if earlier autosaves went to another instance.
+     */
+    @PostMapping("/{attemptId}/finish")
+    public Mono<ResponseEntity<AttemptResponseDto>> finish(
+            @AuthenticationPrincipal UUID userId,
+            @PathVariable UUID attemptId,
+            @Valid @RequestBody(required = false) SubmitAnswersRequestDto request) {
+        return examAttemptService.finish(userId, attemptId, request != null ? request.answers() : List.of())
+                .map(attempt -> ResponseEntity.ok(AttemptResponseDto.from(attempt)));
+    }
+
+    /**
+     * Server-sent events for the attempt: {@code timer}, {@code time-up}, {@code announcement} and
+     * {@code exam-updated}. One connection per candidate replaces polling for the remaining time.
+     */
+    @GetMapping(value = "/{attemptId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> events(@AuthenticationPrincipal UUID userId, @PathVariable UUID attemptId) {
+        return examEventService.streamForAttempt(userId, attemptId);
+    }
+}
@@ -0,0 +1,37 @@
+package com.lms.examready.controller;
+
+import com.lms.examready.dto.response.ExamResponseDto;
+import com.lms.examready.dto.response.QuestionResponseDto;
+import com.lms.examready.service.ExamService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/exams")
+@RequiredArgsConstructor
+public class ExamController {
+
+    private final ExamService examService;
+
+    @GetMapping("/{examId}")
+    public Mono<ResponseEntity<ExamResponseDto>> exam(@PathVariable UUID examId) {
+        return examService.findPublishedExam(examId)
+                .map(exam -> ResponseEntity.ok(ExamResponseDto.from(exam)));
+    }
+
+    /**
+     * Streams questions as NDJSON. A client that lost the connection can resume with the position of
+     * the last question it received.
+     */
+    @GetMapping(value = "/{examId}/questions", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<QuestionResponseDto> questions(@PathVariable UUID examId,
+                                               @RequestParam(defaultValue = "0") int afterPosition) {
+        return examService.streamQuestions(examId, afterPosition);
+    }
+}
@@ -0,0 +1,37 @@
+package com.lms.examready.controller;
+
+import com.lms.examready.dto.response.LeaderboardEntryDto;
+import com.lms.examready.dto.response.StandingResponseDto;
+import com.lms.examready.leaderboard.LeaderboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/exams/{examId}/leaderboard")
+@RequiredArgsConstructor
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    @GetMapping
+    public Flux<LeaderboardEntryDto> top(@PathVariable UUID examId, @RequestParam(defaultValue = "10") int limit) {
+        return leaderboardService.top(examId, limit);
+    }
+
+    /**
+     * Rank and percentile of the caller's best result. 404 until they have a scored attempt.
+     */
+    @GetMapping("/me")
+    public Mono<ResponseEntity<StandingResponseDto>> me(@AuthenticationPrincipal UUID userId,
+                                                        @PathVariable UUID examId) {
+        return leaderboardService.standing(examId, userId)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,28 @@
+package com.lms.examready.controller;
+
+import com.lms.examready.dto.response.UserResponseDto;
+import com.lms.examready.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    private final UserService userService;
+
+    @GetMapping("/me")
+    public Mono<ResponseEntity<UserResponseDto>> me(@AuthenticationPrincipal UUID userId) {
+        return userService.findById(userId)
+                .map(user -> ResponseEntity.ok(UserResponseDto.from(user)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
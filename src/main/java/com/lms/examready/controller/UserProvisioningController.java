@@ -0,0 +1,43 @@
+package com.lms.examready.controller;
+
+import com.lms.examready.dto.request.SignUpRequestDto;
+import com.lms.examready.dto.response.UserImportResultDto;
+import com.lms.examready.dto.response.UserResponseDto;
+import com.lms.examready.service.UserProvisioningService;
+import com.lms.examready.service.UserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/admin/users")
+@RequiredArgsConstructor
+public class UserProvisioningController {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private final UserProvisioningService userProvisioningService;
+    private final UserService userService;
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserImportResultDto> importNdjson(@RequestBody Flux<SignUpRequestDto> users) {
+        return userProvisioningService.importUsers(users);
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<UserImportResultDto> importCsv(@RequestBody Flux<String> lines) {
+        return userProvisioningService.importCsv(lines);
+    }
+
+    @PutMapping("/{userId}/enabled")
+    public Mono<ResponseEntity<UserResponseDto>> setEnabled(@PathVariable UUID userId, @RequestParam boolean enabled) {
+        return userService.setEnabled(userId, enabled)
+                .map(user -> ResponseEntity.ok(UserResponseDto.from(user)))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,11 @@
+package com.lms.examready.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record AnnouncementRequestDto(
+        @NotBlank(message = "Message is required")
+        @Size(max = 1000, message = "Message must be at most 1000 characters")
+        String message
+) {
+}
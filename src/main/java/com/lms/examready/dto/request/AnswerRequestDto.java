@@ -0,0 +1,16 @@
+package com.lms.examready.dto.request;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record AnswerRequestDto(
+        @NotNull(message = "Question id is required")
+        UUID questionId,
+
+        @NotNull(message = "Choice is required")
+        @Min(value = 0, message = "Choice must not be negative")
+        Short choice
+) {
+}
@@ -0,0 +1,9 @@
+package com.lms.examready.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RefreshTokenRequestDto(
+        @NotBlank(message = "Refresh token is required")
+        String refreshToken
+) {
+}
@@ -0,0 +1,11 @@
+package com.lms.examready.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+public record StartAttemptRequestDto(
+        @NotNull(message = "Exam id is required")
+        UUID examId
+) {
+}
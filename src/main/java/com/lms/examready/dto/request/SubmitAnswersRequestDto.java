@@ -0,0 +1,14 @@
+package com.lms.examready.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record SubmitAnswersRequestDto(
+        @NotNull(message = "Answers are required")
+        @Size(max = 500, message = "At most 500 answers can be submitted at once")
+        List<@Valid @NotNull AnswerRequestDto> answers
+) {
+}
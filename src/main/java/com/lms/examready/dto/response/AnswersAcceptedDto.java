@@ -0,0 +1,14 @@
+package com.lms.examready.dto.response;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Acknowledges an autosave. The answers are buffered and written shortly after {@code acceptedAt}.
+ */
+public record AnswersAcceptedDto(
+        UUID attemptId,
+        int accepted,
+        LocalDateTime acceptedAt
+) {
+}
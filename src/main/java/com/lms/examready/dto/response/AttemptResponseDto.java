@@ -0,0 +1,21 @@
+package com.lms.examready.dto.response;
+
+import com.lms.examready.model.AttemptStatus;
+import com.lms.examready.model.ExamAttempt;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public record AttemptResponseDto(
+        UUID id,
+        UUID examId,
+        AttemptStatus status,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt
+) {
+
+    public static AttemptResponseDto from(ExamAttempt attempt) {
+        return new AttemptResponseDto(attempt.getId(), attempt.getExamId(), attempt.getStatus(),
+                attempt.getStartedAt(), attempt.getFinishedAt());
+    }
+}
@@ -0,0 +1,17 @@
+package com.lms.examready.dto.response;
+
+import com.lms.examready.cache.ExamSnapshot;
+
+import java.util.UUID;
+
+public record ExamResponseDto(
+        UUID id,
+        String title,
+        String description,
+        int durationMinutes
+) {
+
+    public static ExamResponseDto from(ExamSnapshot exam) {
+        return new ExamResponseDto(exam.examId(), exam.title(), exam.description(), exam.durationMinutes());
+    }
+}
@@ -0,0 +1,9 @@
+package com.lms.examready.dto.response;
+
+/**
+ * The exam content changed; clients should reload the questions they display.
+ */
+public record ExamUpdatedEventDto(
+        long contentVersion
+) {
+}
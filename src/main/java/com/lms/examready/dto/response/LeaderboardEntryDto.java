@@ -0,0 +1,8 @@
+package com.lms.examready.dto.response;
+
+public record LeaderboardEntryDto(
+        int rank,
+        String username,
+        int score
+) {
+}
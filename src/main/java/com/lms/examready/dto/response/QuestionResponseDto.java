@@ -0,0 +1,23 @@
+package com.lms.examready.dto.response;
+
+import com.lms.examready.cache.ExamSnapshot;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * A question as shown to candidates; the correct choice is never included.
+ */
+public record QuestionResponseDto(
+        UUID id,
+        int position,
+        String prompt,
+        List<String> choices,
+        int points
+) {
+
+    public static QuestionResponseDto from(ExamSnapshot snapshot, int index) {
+        return new QuestionResponseDto(snapshot.questionId(index), snapshot.position(index), snapshot.prompt(index),
+                snapshot.choices(index), snapshot.points(index));
+    }
+}
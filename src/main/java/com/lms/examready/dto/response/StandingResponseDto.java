@@ -0,0 +1,23 @@
+package com.lms.examready.dto.response;
+
+import com.lms.examready.leaderboard.ScoreIndex;
+
+import java.util.UUID;
+
+/**
+ * @param percentile share of candidates with a lower best score, in percent
+ */
+public record StandingResponseDto(
+        UUID examId,
+        int score,
+        int maxScore,
+        int rank,
+        int candidates,
+        double percentile
+) {
+
+    public static StandingResponseDto from(UUID examId, ScoreIndex.Standing standing) {
+        return new StandingResponseDto(examId, standing.score(), standing.maxScore(), standing.rank(),
+                standing.total(), standing.percentile());
+    }
+}
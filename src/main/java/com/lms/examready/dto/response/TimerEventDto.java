@@ -0,0 +1,9 @@
+package com.lms.examready.dto.response;
+
+import java.time.LocalDateTime;
+
+public record TimerEventDto(
+        long remainingSeconds,
+        LocalDateTime serverTime
+) {
+}
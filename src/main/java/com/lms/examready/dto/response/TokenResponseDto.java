@@ -0,0 +1,7 @@
+package com.lms.examready.dto.response;
+
+public record TokenResponseDto(
+        String accessToken,
+        String refreshToken
+) {
+}
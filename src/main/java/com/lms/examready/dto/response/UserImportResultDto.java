@@ -0,0 +1,13 @@
+package com.lms.examready.dto.response;
+
+public record UserImportResultDto(
+        long row,
+        String username,
+        Status status,
+        String message
+) {
+
+    public enum Status {
+        CREATED, CONFLICT, INVALID, FAILED
+    }
+}
@@ -0,0 +1,7 @@
+package com.lms.examready.exception;
+
+public class AnswersUnavailableException extends RuntimeException {
+    public AnswersUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.lms.examready.exception;
+
+public class AttemptNotFoundException extends RuntimeException {
+    public AttemptNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.lms.examready.exception;
+
+public class AttemptNotInProgressException extends RuntimeException {
+    public AttemptNotInProgressException(String message) {
+        super(message);
+    }
+}
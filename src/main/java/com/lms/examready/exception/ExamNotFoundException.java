@@ -0,0 +1,7 @@
+package com.lms.examready.exception;
+
+public class ExamNotFoundException extends RuntimeException {
+    public ExamNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.lms.examready.exception;
+
+public class InvalidAnswerException extends RuntimeException {
+    public InvalidAnswerException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,31 @@
+package com.lms.examready.leaderboard;
+
+import com.lms.examready.ExamReadyApplication;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Builds the leaderboards of recently scored exams once the application has started. Not active in
+ * the {@code migrate} profile, which only applies migrations and exits.
+ */
+@Component
+@Profile("!" + ExamReadyApplication.MIGRATE_PROFILE)
+@RequiredArgsConstructor
+@Slf4j
+public class LeaderboardPreloader implements ApplicationRunner {
+
+    private final LeaderboardService leaderboardService;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        try {
+            leaderboardService.preload();
+        } catch (RuntimeException e) {
+            log.warn("Could not preload leaderboards, retrying with the next refresh", e);
+        }
+    }
+}
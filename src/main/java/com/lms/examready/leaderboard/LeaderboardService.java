@@ -0,0 +1,149 @@
+package com.lms.examready.leaderboard;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.examready.cache.RequestCoalescer;
+import com.lms.examready.dto.response.LeaderboardEntryDto;
+import com.lms.examready.dto.response.StandingResponseDto;
+import com.lms.examready.repository.ExamAttemptRepository;
+import com.lms.examready.scoring.AttemptScore;
+import com.lms.examready.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-exam {@link ScoreIndex}es, so rank, percentile and top N are answered from memory. An exam's
+ * index is built from {@code exam_attempts} the first time it is asked for, and exams with recent
+ * results are built at startup by {@link LeaderboardPreloader}. After that an index is only updated
+ * incrementally: with the scores this instance writes, and by a refresh that reads the results every
+ * node has written since the last one, keyed on {@code scored_at}.
+ */
+@Service
+@Slf4j
+public class LeaderboardService {
+
+    private final ExamAttemptRepository examAttemptRepository;
+    private final UserService userService;
+    private final int maximumLimit;
+    private final Duration refreshOverlap;
+    private final Duration preloadWindow;
+    private final Cache<UUID, ScoreIndex> indexes;
+    private final RequestCoalescer<UUID, ScoreIndex> loads;
+
+    private LocalDateTime refreshedUpTo;
+
+    public LeaderboardService(ExamAttemptRepository examAttemptRepository,
+                              UserService userService,
+                              MeterRegistry meterRegistry,
+                              @Value("${leaderboard.maximum-limit:100}") int maximumLimit,
+                              @Value("${leaderboard.maximum-exams:500}") long maximumExams,
+                              @Value("${leaderboard.refresh-overlap:30s}") Duration refreshOverlap,
+                              @Value("${leaderboard.preload-window:7d}") Duration preloadWindow) {
+        this.examAttemptRepository = examAttemptRepository;
+        this.userService = userService;
+        this.maximumLimit = maximumLimit;
+        this.refreshOverlap = refreshOverlap;
+        this.preloadWindow = preloadWindow;
+        this.indexes = Caffeine.newBuilder()
+                .maximumSize(maximumExams)
+                .recordStats()
+                .build();
+        this.loads = new RequestCoalescer<>("leaderboard.index", meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, indexes, "leaderboard.indexes");
+    }
+
+    /**
+     * The best {@code limit} candidates of the exam, capped at {@code maximumLimit}. Usernames come from
+     * the user cache.
+     */
+    public Flux<LeaderboardEntryDto> top(UUID examId, int limit) {
+        return index(examId)
+                .flatMapIterable(index -> index.top(Math.max(1, Math.min(limit, maximumLimit))))
+                .flatMapSequential(entry -> userService.findById(entry.userId())
+                        .map(user -> new LeaderboardEntryDto(entry.rank(), user.getUsername(), entry.score())));
+    }
+
+    /**
+     * Rank and percentile of the user's best result, or empty if they have none for the exam.
+     */
+    public Mono<StandingResponseDto> standing(UUID examId, UUID userId) {
+        return index(examId)
+                .mapNotNull(index -> index.standing(userId))
+                .map(standing -> StandingResponseDto.from(examId, standing));
+    }
+
+    /**
+     * The index of the exam, loaded once however many requests are waiting for it.
+     */
+    public Mono<ScoreIndex> index(UUID examId) {
+        ScoreIndex index = indexes.getIfPresent(examId);
+        if (index != null) {
+            return Mono.just(index);
+        }
+        return loads.execute(examId, this::load);
+    }
+
+    /**
+     * Records results written by this instance. Exams without a loaded index are skipped; they are read
+     * in full when first asked for.
+     */
+    public void record(Collection<AttemptScore> scores) {
+        for (AttemptScore score : scores) {
+            ScoreIndex index = indexes.getIfPresent(score.examId());
+            if (index != null) {
+                index.record(score.userId(), score.score(), score.maxScore());
+            }
+        }
+    }
+
+    /**
+     * Adds results scored on any node since the last refresh. The cursor is the database clock and each
+     * window overlaps the previous one, so results committed slightly out of {@code scored_at} order are
+     * not missed; recording a result twice is harmless.
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.refresh-interval:PT10S}", initialDelayString = "${leaderboard.refresh-interval:PT10S}")
+    public synchronized void refresh() {
+        if (refreshedUpTo == null) {
+            preload();
+            return;
+        }
+        LocalDateTime databaseNow = examAttemptRepository.currentTimestamp().block();
+        List<AttemptScore> scores = examAttemptRepository.findScoredSince(refreshedUpTo.minus(refreshOverlap))
+                .collectList()
+                .block();
+        record(scores);
+        refreshedUpTo = databaseNow;
+    }
+
+    /**
+     * Builds the indexes of exams with results in the last {@code preloadWindow}, so the first requests
+     * after a deploy do not each pay a full read.
+     */
+    synchronized void preload() {
+        LocalDateTime databaseNow = examAttemptRepository.currentTimestamp().block();
+        List<ScoreIndex> loaded = examAttemptRepository.findExamsScoredSince(databaseNow.minus(preloadWindow))
+                .concatMap(this::index)
+                .collectList()
+                .block();
+        refreshedUpTo = databaseNow;
+        log.info("Loaded leaderboards of {} exams", loaded.size());
+    }
+
+    private Mono<ScoreIndex> load(UUID examId) {
+        return examAttemptRepository.findBestScores(examId)
+                .collect(ScoreIndex::new, (index, score) -> index.record(score.userId(), score.score(), score.maxScore()))
+                .doOnNext(index -> indexes.put(examId, index));
+    }
+}
@@ -0,0 +1,167 @@
+package com.lms.examready.leaderboard;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Best score of every candidate of one exam, indexed for ranking. Scores are small non-negative
+ * integers, so candidates are counted per score in a Fenwick tree over an {@code int[]}: recording a
+ * result, and the rank or percentile of a candidate, are {@code O(log maxScore)} whatever the number of
+ * candidates. Top N walks the per-score buckets from the highest score down.
+ * <p>
+ * Only a candidate's best score counts; recording a lower or equal score again changes nothing, which
+ * makes replaying results safe.
+ */
+public final class ScoreIndex {
+
+    private static final int INITIAL_CAPACITY = 128;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<UUID, Integer> bestScores = new HashMap<>();
+    private final List<Set<UUID>> usersByScore = new ArrayList<>();
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private int highestScore = -1;
+    private int maxScore;
+
+    /**
+     * Records a result.
+     *
+     * @return {@code true} if it improved the candidate's best score
+     */
+    public boolean record(UUID userId, int score, int maxScore) {
+        if (score < 0) {
+            throw new IllegalArgumentException("Score must not be negative: " + score);
+        }
+        lock.writeLock().lock();
+        try {
+            this.maxScore = Math.max(this.maxScore, maxScore);
+            Integer previous = bestScores.get(userId);
+            if (previous != null && previous >= score) {
+                return false;
+            }
+            if (previous != null) {
+                usersByScore.get(previous).remove(userId);
+                add(previous, -1);
+            }
+            ensureCapacity(score);
+            bestScores.put(userId, score);
+            usersByScore.get(score).add(userId);
+            add(score, 1);
+            highestScore = Math.max(highestScore, score);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Standing of the candidate, or {@code null} if they have no result for this exam.
+     */
+    public Standing standing(UUID userId) {
+        lock.readLock().lock();
+        try {
+            Integer score = bestScores.get(userId);
+            if (score == null) {
+                return null;
+            }
+            int total = bestScores.size();
+            int below = countAtMost(score - 1);
+            int above = total - countAtMost(score);
+            return new Standing(score, maxScore, above + 1, total, 100.0 * below / total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The {@code n} best candidates, highest score first. Candidates with the same score share a rank.
+     */
+    public List<Entry> top(int n) {
+        lock.readLock().lock();
+        try {
+            List<Entry> entries = new ArrayList<>(Math.min(n, bestScores.size()));
+            int rank = 1;
+            for (int score = highestScore; score >= 0 && entries.size() < n; score--) {
+                Set<UUID> users = usersByScore.get(score);
+                for (UUID userId : users) {
+                    if (entries.size() == n) {
+                        break;
+                    }
+                    entries.add(new Entry(userId, score, rank));
+                }
+                rank += users.size();
+            }
+            return entries;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return bestScores.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void add(int score, int delta) {
+        for (int i = score + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    private int countAtMost(int score) {
+        int count = 0;
+        for (int i = Math.min(score + 1, tree.length - 1); i > 0; i -= i & -i) {
+            count += tree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Grows the tree to hold {@code score}, rebuilding it from the buckets in {@code O(capacity)}. Scores
+     * only exceed the capacity while an exam's first results come in.
+     */
+    private void ensureCapacity(int score) {
+        while (usersByScore.size() <= score) {
+            usersByScore.add(new HashSet<>());
+        }
+        if (score + 1 < tree.length) {
+            return;
+        }
+        int capacity = tree.length - 1;
+        while (capacity <= score) {
+            capacity *= 2;
+        }
+        int[] grown = new int[capacity + 1];
+        for (int s = 0; s < usersByScore.size(); s++) {
+            grown[s + 1] = usersByScore.get(s).size();
+        }
+        for (int i = 1; i <= capacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) {
+                grown[parent] += grown[i];
+            }
+        }
+        tree = grown;
+    }
+
+    /**
+     * @param rank       1 plus the number of candidates with a higher best score
+     * @param percentile share of candidates with a lower best score, in percent
+     */
+    public record Standing(int score, int maxScore, int rank, int total, double percentile) {
+    }
+
+    public record Entry(UUID userId, int score, int rank) {
+    }
+}
@@ -0,0 +1,31 @@
+package com.lms.examready.live;
+
+import java.time.LocalDateTime;
+
+/**
+ * Something every candidate connected to an exam should hear about. A {@code TICK} carries only the
+ * server time; each connection turns it into the remaining time of its own attempt.
+ */
+public record ExamEvent(
+        Type type,
+        LocalDateTime at,
+        String message,
+        long contentVersion
+) {
+
+    public enum Type {
+        TICK, ANNOUNCEMENT, UPDATED
+    }
+
+    public static ExamEvent tick(LocalDateTime at) {
+        return new ExamEvent(Type.TICK, at, null, 0);
+    }
+
+    public static ExamEvent announcement(String message, LocalDateTime at) {
+        return new ExamEvent(Type.ANNOUNCEMENT, at, message, 0);
+    }
+
+    public static ExamEvent updated(long contentVersion, LocalDateTime at) {
+        return new ExamEvent(Type.UPDATED, at, null, contentVersion);
+    }
+}
@@ -0,0 +1,158 @@
+package com.lms.examready.live;
+
+import com.lms.examready.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans exam events out to connected candidates through one {@link Sinks.Many} per exam. The sink
+ * keeps no buffer: an event reaches the subscribers that are ready for it and is dropped for the rest,
+ * so an idle or slow connection costs a subscription and nothing more. A channel exists only while
+ * someone is connected to its exam.
+ * <p>
+ * Timer ticks come from a single shared clock rather than a timer per connection, and they double as
+ * the heartbeat that keeps idle connections open through proxies.
+ */
+@Component
+@Slf4j
+public class ExamEventHub {
+
+    public static final String ANNOUNCEMENTS_CHANNEL = "exam_announcements";
+
+    private final NotificationRepository notificationRepository;
+    private final Duration tickInterval;
+    private final boolean ticksEnabled;
+    private final ConcurrentMap<UUID, Channel> channels = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Map<ExamEvent.Type, Counter> published = new EnumMap<>(ExamEvent.Type.class);
+
+    private Disposable ticker;
+
+    public ExamEventHub(NotificationRepository notificationRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${exam-events.tick-interval:15s}") Duration tickInterval,
+                        @Value("${exam-events.ticks.enabled:true}") boolean ticksEnabled) {
+        this.notificationRepository = notificationRepository;
+        this.tickInterval = tickInterval;
+        this.ticksEnabled = ticksEnabled;
+
+        for (ExamEvent.Type type : ExamEvent.Type.values()) {
+            published.put(type, Counter.builder("exam.events.published")
+                    .tag("type", type.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+        Gauge.builder("exam.events.connections", connections, AtomicInteger::get)
+                .description("Candidates connected to an exam event stream")
+                .register(meterRegistry);
+        Gauge.builder("exam.events.channels", channels, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Starts the shared tick clock, unless ticks are disabled as in the {@code migrate} profile.
+     */
+    @PostConstruct
+    public void start() {
+        if (!ticksEnabled) {
+            return;
+        }
+        ticker = Flux.interval(tickInterval, tickInterval)
+                .subscribe(tick -> publishToAll(ExamEvent.tick(LocalDateTime.now())));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (ticker != null) {
+            ticker.dispose();
+        }
+        channels.values().forEach(channel -> channel.sink.tryEmitComplete());
+    }
+
+    /**
+     * Events of one exam from now on. The channel is released when the subscriber cancels.
+     */
+    public Flux<ExamEvent> subscribe(UUID examId) {
+        return Flux.defer(() -> {
+            Channel channel = channels.compute(examId, (id, current) -> {
+                Channel acquired = current != null ? current : new Channel();
+                acquired.subscribers.incrementAndGet();
+                return acquired;
+            });
+            connections.incrementAndGet();
+            return channel.sink.asFlux()
+                    .doFinally(signal -> release(examId));
+        });
+    }
+
+    /**
+     * Delivers the event to candidates connected to this instance.
+     */
+    public void publish(UUID examId, ExamEvent event) {
+        Channel channel = channels.get(examId);
+        if (channel != null) {
+            channel.emit(event);
+            published.get(event.type()).increment();
+        }
+    }
+
+    /**
+     * Sends an announcement to the candidates of the exam on every instance, through
+     * {@link #ANNOUNCEMENTS_CHANNEL}.
+     */
+    public Mono<Void> announce(UUID examId, String message) {
+        return notificationRepository.notify(ANNOUNCEMENTS_CHANNEL, examId + ":" + message);
+    }
+
+    int connections() {
+        return connections.get();
+    }
+
+    int channels() {
+        return channels.size();
+    }
+
+    private void publishToAll(ExamEvent event) {
+        channels.values().forEach(channel -> {
+            channel.emit(event);
+            published.get(event.type()).increment();
+        });
+    }
+
+    private void release(UUID examId) {
+        connections.decrementAndGet();
+        channels.computeIfPresent(examId, (id, current) ->
+                current.subscribers.decrementAndGet() == 0 ? null : current);
+    }
+
+    private static final class Channel {
+
+        private final Sinks.Many<ExamEvent> sink = Sinks.many().multicast().directBestEffort();
+        private final AtomicInteger subscribers = new AtomicInteger();
+
+        /**
+         * The ticker, the notification listener and request threads all publish; a sink must not be
+         * emitted to concurrently.
+         */
+        private synchronized void emit(ExamEvent event) {
+            sink.tryEmitNext(event);
+        }
+    }
+}
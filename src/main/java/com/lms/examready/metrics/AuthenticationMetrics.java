@@ -0,0 +1,78 @@
+package com.lms.examready.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Meters for the authentication path. All names start with {@code auth.} so percentile histograms can
+ * be switched on for the whole group with {@code management.metrics.distribution.percentiles-histogram.auth}.
+ */
+@Component
+public class AuthenticationMetrics {
+
+    public enum SignInOutcome {
+        SUCCESS, BAD_PASSWORD, UNKNOWN_USER, DISABLED
+    }
+
+    public enum TokenOutcome {
+        VALID, EXPIRED, INVALID
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Timer userLookupTimer;
+    private final Timer tokenGenerationTimer;
+    private final Map<SignInOutcome, Counter> signInCounters = new EnumMap<>(SignInOutcome.class);
+    private final Map<TokenOutcome, Timer> tokenVerificationTimers = new EnumMap<>(TokenOutcome.class);
+
+    public AuthenticationMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.userLookupTimer = Timer.builder("auth.user.lookup").register(meterRegistry);
+        this.tokenGenerationTimer = Timer.builder("auth.token.generate").register(meterRegistry);
+        for (SignInOutcome outcome : SignInOutcome.values()) {
+            signInCounters.put(outcome, Counter.builder("auth.sign-in")
+                    .tag("outcome", tagValue(outcome))
+                    .register(meterRegistry));
+        }
+        for (TokenOutcome outcome : TokenOutcome.values()) {
+            tokenVerificationTimers.put(outcome, Timer.builder("auth.token.verify")
+                    .tag("outcome", tagValue(outcome))
+                    .register(meterRegistry));
+        }
+    }
+
+    public <T> Mono<T> timeUserLookup(Mono<T> lookup) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return lookup.doFinally(signal -> sample.stop(userLookupTimer));
+        });
+    }
+
+    public String timeTokenGeneration(Supplier<String> generator) {
+        return tokenGenerationTimer.record(generator);
+    }
+
+    public long startTokenVerification() {
+        return System.nanoTime();
+    }
+
+    public void tokenVerified(long startedAt, TokenOutcome outcome) {
+        tokenVerificationTimers.get(outcome).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+    }
+
+    public void signIn(SignInOutcome outcome) {
+        signInCounters.get(outcome).increment();
+    }
+
+    private static String tagValue(Enum<?> outcome) {
+        return outcome.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,5 @@
+package com.lms.examready.model;
+
+public enum AttemptStatus {
+    IN_PROGRESS, FINISHED, SCORED
+}
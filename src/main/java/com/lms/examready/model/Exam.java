@@ -0,0 +1,38 @@
+package com.lms.examready.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Table("exams")
+@Data
+public class Exam {
+
+    @Id
+    private UUID id;
+
+    @Column
+    private String title;
+
+    @Column
+    private String description;
+
+    @Column("duration_minutes")
+    private int durationMinutes;
+
+    @Column
+    private boolean published;
+
+    @Column("content_version")
+    private long contentVersion;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("updated_at")
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,41 @@
+package com.lms.examready.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Table("exam_attempts")
+@Data
+public class ExamAttempt {
+
+    @Id
+    private UUID id;
+
+    @Column("exam_id")
+    private UUID examId;
+
+    @Column("user_id")
+    private UUID userId;
+
+    @Column
+    private AttemptStatus status;
+
+    @Column("started_at")
+    private LocalDateTime startedAt;
+
+    @Column("finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column
+    private Integer score;
+
+    @Column("max_score")
+    private Integer maxScore;
+
+    @Column("scored_at")
+    private LocalDateTime scoredAt;
+}
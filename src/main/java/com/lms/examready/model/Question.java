@@ -0,0 +1,34 @@
+package com.lms.examready.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.util.UUID;
+
+@Table("questions")
+@Data
+public class Question {
+
+    @Id
+    private UUID id;
+
+    @Column("exam_id")
+    private UUID examId;
+
+    @Column
+    private int position;
+
+    @Column
+    private String prompt;
+
+    @Column
+    private String[] choices;
+
+    @Column("correct_choice")
+    private short correctChoice;
+
+    @Column
+    private short points;
+}
@@ -0,0 +1,38 @@
+package com.lms.examready.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Table("refresh_tokens")
+@Data
+public class RefreshToken {
+
+    @Id
+    private UUID id;
+
+    @Column("user_id")
+    private UUID userId;
+
+    @Column("family_id")
+    private UUID familyId;
+
+    @Column("token_hash")
+    private String tokenHash;
+
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column("created_at")
+    private LocalDateTime createdAt;
+
+    @Column("used_at")
+    private LocalDateTime usedAt;
+
+    @Column("revoked_at")
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,22 @@
+package com.lms.examready.model;
+
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Table("revoked_tokens")
+@Data
+public class RevokedToken {
+
+    @Id
+    private String jti;
+
+    @Column("expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column("revoked_at")
+    private LocalDateTime revokedAt;
+}
@@ -0,0 +1,37 @@
+package com.lms.examready.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.Set;
+
+@Configuration
+public class RateLimitConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "sign-in-rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+    public SignInRateLimitFilter signInRateLimitFilter(ObjectMapper objectMapper,
+                                                       MeterRegistry meterRegistry,
+                                                       @Value("${sign-in-rate-limit.per-client-address.permits:600}") int addressPermits,
+                                                       @Value("${sign-in-rate-limit.per-client-address.burst:200}") int addressBurst,
+                                                       @Value("${sign-in-rate-limit.per-username.permits:5}") int usernamePermits,
+                                                       @Value("${sign-in-rate-limit.per-username.burst:5}") int usernameBurst,
+                                                       @Value("${sign-in-rate-limit.period:1m}") Duration period,
+                                                       @Value("${sign-in-rate-limit.maximum-keys:100000}") long maximumKeys,
+                                                       @Value("${sign-in-rate-limit.max-concurrent:128}") int maxConcurrent,
+                                                       @Value("${sign-in-rate-limit.trusted-proxies:}") Set<String> trustedProxies) {
+        return new SignInRateLimitFilter(
+                new RateLimiter(addressPermits, period, addressBurst, maximumKeys, Ticker.systemTicker()),
+                new RateLimiter(usernamePermits, period, usernameBurst, maximumKeys, Ticker.systemTicker()),
+                maxConcurrent,
+                trustedProxies,
+                objectMapper,
+                meterRegistry);
+    }
+}
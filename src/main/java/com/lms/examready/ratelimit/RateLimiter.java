@@ -0,0 +1,47 @@
+package com.lms.examready.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+
+import java.time.Duration;
+
+/**
+ * Keyed token buckets allowing {@code permits} per {@code period} with bursts of up to {@code burst}.
+ * Buckets live in a bounded Caffeine map and expire once idle long enough to have refilled, so
+ * evicting them loses no state; only under size pressure can an active bucket be dropped early.
+ */
+public class RateLimiter {
+
+    private final Cache<String, TokenBucket> buckets;
+    private final Ticker ticker;
+    private final long emissionInterval;
+    private final long burstTolerance;
+
+    public RateLimiter(int permits, Duration period, int burst, long maximumKeys, Ticker ticker) {
+        if (permits <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permits and burst must be positive");
+        }
+        this.ticker = ticker;
+        this.emissionInterval = Math.max(1, period.toNanos() / permits);
+        this.burstTolerance = emissionInterval * (burst - 1);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterAccess(Duration.ofNanos(Math.max(emissionInterval * burst, Duration.ofSeconds(1).toNanos())))
+                .ticker(ticker)
+                .build();
+    }
+
+    /**
+     * @return {@code 0} when admitted, otherwise how long the caller should wait before retrying
+     */
+    public Duration tryAcquire(String key) {
+        long wait = buckets.get(key, k -> new TokenBucket()).tryAcquire(ticker.read(), emissionInterval, burstTolerance);
+        return wait > 0 ? Duration.ofNanos(wait) : Duration.ZERO;
+    }
+
+    long size() {
+        buckets.cleanUp();
+        return buckets.estimatedSize();
+    }
+}
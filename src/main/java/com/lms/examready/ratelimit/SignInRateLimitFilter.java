@@ -0,0 +1,192 @@
+package com.lms.examready.ratelimit;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+import static org.springframework.http.HttpMethod.POST;
+import static org.springframework.http.HttpStatus.PAYLOAD_TOO_LARGE;
+import static org.springframework.http.HttpStatus.TOO_MANY_REQUESTS;
+
+/**
+ * Admission control for {@code POST /api/auth/sign-in}, which costs a full BCrypt verification.
+ * Requests are checked against a per-client-IP bucket, a cap on sign-ins in flight and a per-username
+ * bucket, in that order, and rejected with 429 and {@code Retry-After} rather than queued.
+ * Runs ahead of the Spring Security filter chain.
+ * <p>
+ * The client address is the connection's remote address unless that address is a configured trusted proxy,
+ * in which case it is the right-most {@code X-Forwarded-For} entry that is not itself a trusted proxy.
+ * Forwarded headers from any other peer are ignored, so clients cannot pick their own bucket.
+ */
+public class SignInRateLimitFilter implements WebFilter, Ordered {
+
+    static final String SIGN_IN_PATH = "/api/auth/sign-in";
+
+    /**
+     * Spring Security's {@code WebFilterChainProxy} runs at order -100; rejected sign-ins should not reach it.
+     */
+    static final int ORDER = -200;
+
+    private static final int MAX_BODY_BYTES = 4096;
+    private static final String REJECTED = "auth.sign-in.rejected";
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final RateLimiter perClientAddress;
+    private final RateLimiter perUsername;
+    private final Semaphore inFlight;
+    private final Set<String> trustedProxies;
+    private final ObjectMapper objectMapper;
+    private final Counter rejectedByAddress;
+    private final Counter rejectedByUsername;
+    private final Counter rejectedByConcurrency;
+
+    public SignInRateLimitFilter(RateLimiter perClientAddress,
+                                 RateLimiter perUsername,
+                                 int maxConcurrent,
+                                 Set<String> trustedProxies,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.perClientAddress = perClientAddress;
+        this.perUsername = perUsername;
+        this.inFlight = new Semaphore(maxConcurrent);
+        this.trustedProxies = Set.copyOf(trustedProxies);
+        this.objectMapper = objectMapper;
+        this.rejectedByAddress = Counter.builder(REJECTED).tag("reason", "client-address").register(meterRegistry);
+        this.rejectedByUsername = Counter.builder(REJECTED).tag("reason", "username").register(meterRegistry);
+        this.rejectedByConcurrency = Counter.builder(REJECTED).tag("reason", "concurrency").register(meterRegistry);
+    }
+
+    @Override
+    public int getOrder() {
+        return ORDER;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (request.getMethod() != POST || !SIGN_IN_PATH.equals(request.getPath().pathWithinApplication().value())) {
+            return chain.filter(exchange);
+        }
+
+        Duration wait = perClientAddress.tryAcquire(clientAddress(request));
+        if (!wait.isZero()) {
+            rejectedByAddress.increment();
+            return reject(exchange, wait);
+        }
+        if (!inFlight.tryAcquire()) {
+            rejectedByConcurrency.increment();
+            return reject(exchange, Duration.ofSeconds(1));
+        }
+
+        return DataBufferUtils.join(request.getBody(), MAX_BODY_BYTES)
+                .map(SignInRateLimitFilter::readAndRelease)
+                .defaultIfEmpty(new byte[0])
+                .flatMap(body -> {
+                    String username = username(body);
+                    Duration usernameWait = username != null ? perUsername.tryAcquire(username) : Duration.ZERO;
+                    if (!usernameWait.isZero()) {
+                        rejectedByUsername.increment();
+                        return reject(exchange, usernameWait);
+                    }
+                    return chain.filter(exchange.mutate().request(new CachedBodyRequest(request, body)).build());
+                })
+                .onErrorResume(DataBufferLimitException.class, e -> {
+                    exchange.getResponse().setStatusCode(PAYLOAD_TOO_LARGE);
+                    return exchange.getResponse().setComplete();
+                })
+                .doFinally(signal -> inFlight.release());
+    }
+
+    private String username(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode username = objectMapper.readTree(body).path("username");
+            return username.isTextual() ? username.asText() : null;
+        } catch (IOException e) {
+            // Malformed bodies are rejected by the controller's validation
+            return null;
+        }
+    }
+
+    String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        String address = remoteAddress.getAddress().getHostAddress();
+        if (!trustedProxies.contains(address)) {
+            return address;
+        }
+        List<String> forwardedFor = request.getHeaders().getOrDefault(X_FORWARDED_FOR, List.of());
+        String[] hops = String.join(",", forwardedFor).split(",");
+        for (int i = hops.length - 1; i >= 0; i--) {
+            String hop = hops[i].trim();
+            if (hop.isEmpty()) {
+                continue;
+            }
+            address = hop;
+            if (!trustedProxies.contains(hop)) {
+                break;
+            }
+        }
+        return address;
+    }
+
+    private static byte[] readAndRelease(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, Duration wait) {
+        long retryAfterSeconds = Math.max(1, (wait.toMillis() + 999) / 1000);
+        exchange.getResponse().setStatusCode(TOO_MANY_REQUESTS);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        return exchange.getResponse().setComplete();
+    }
+
+    /**
+     * Replays the already consumed sign-in body to the handler.
+     */
+    private static final class CachedBodyRequest extends ServerHttpRequestDecorator {
+
+        private final byte[] body;
+
+        private CachedBodyRequest(ServerHttpRequest delegate, byte[] body) {
+            super(delegate);
+            this.body = body;
+        }
+
+        @Override
+        public Flux<DataBuffer> getBody() {
+            return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.lms.examready.repository;
+
+import com.lms.examready.attempt.AttemptAnswer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads and writes {@code attempt_answers}, whose primary key spans two columns, through {@link DatabaseClient}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AttemptAnswerRepository {
+
+    private static final String UPSERT_PREFIX = """
+            INSERT INTO attempt_answers (attempt_id, question_id, choice, answered_at)
+            SELECT v.attempt_id, v.question_id, v.choice, v.answered_at
+            FROM (VALUES\s""";
+    private static final String UPSERT_SUFFIX = """
+            ) AS v (attempt_id, question_id, choice, answered_at)
+            JOIN exam_attempts a ON a.id = v.attempt_id AND (a.finished_at IS NULL OR v.answered_at <= a.finished_at)
+            ON CONFLICT (attempt_id, question_id) DO UPDATE
+            SET choice = EXCLUDED.choice, answered_at = EXCLUDED.answered_at
+            WHERE attempt_answers.answered_at <= EXCLUDED.answered_at
+            """;
+    private static final MultiRowStatement<AttemptAnswer> ROWS = new MultiRowStatement<AttemptAnswer>()
+            .column(AttemptAnswer::attemptId, UUID.class, "uuid")
+            .column(AttemptAnswer::questionId, UUID.class, "uuid")
+            .column(AttemptAnswer::choice, Short.class, "smallint")
+            .column(AttemptAnswer::answeredAt, LocalDateTime.class, "timestamp");
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Upserts the answers in one statement. Answers given after their attempt was finished are skipped,
+     * while answers given before still count if their batch lands after the finish. A stored answer is
+     * only replaced by one that is at least as recent, so batches may be written in any order.
+     */
+    public Mono<Long> upsertAll(List<AttemptAnswer> answers) {
+        if (answers.isEmpty()) {
+            return Mono.just(0L);
+        }
+        String sql = UPSERT_PREFIX + ROWS.placeholders(answers.size()) + UPSERT_SUFFIX;
+        return ROWS.bind(databaseClient.sql(sql), answers)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Flux<AttemptAnswer> findByAttemptIds(Collection<UUID> attemptIds) {
+        if (attemptIds.isEmpty()) {
+            return Flux.empty();
+        }
+        return databaseClient.sql("""
+                        SELECT attempt_id, question_id, choice, answered_at FROM attempt_answers
+                        WHERE attempt_id = ANY($1)
+                        """)
+                .bind(0, attemptIds.toArray(UUID[]::new))
+                .map((row, metadata) -> new AttemptAnswer(
+                        row.get("attempt_id", UUID.class),
+                        row.get("question_id", UUID.class),
+                        row.get("choice", Short.class),
+                        row.get("answered_at", LocalDateTime.class)))
+                .all();
+    }
+}
@@ -0,0 +1,53 @@
+package com.lms.examready.repository;
+
+import com.lms.examready.audit.AuthEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Writes to the partitioned {@code auth_events} table. The table has no single-column id, so it is
+ * accessed through {@link DatabaseClient} rather than a Spring Data entity.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AuthEventRepository {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO auth_events (occurred_at, event_type, user_id, username, detail) VALUES ";
+    private static final MultiRowStatement<AuthEvent> ROWS = new MultiRowStatement<AuthEvent>()
+            .column(AuthEvent::occurredAt, LocalDateTime.class)
+            .column(event -> event.type().name(), String.class)
+            .column(AuthEvent::userId, UUID.class)
+            .column(AuthEvent::username, String.class)
+            .column(AuthEvent::detail, String.class);
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Long> insertAll(List<AuthEvent> events) {
+        if (events.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return ROWS.bind(databaseClient.sql(INSERT_PREFIX + ROWS.placeholders(events.size())), events)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Creates the monthly partition starting at {@code month} unless it already exists.
+     */
+    public Mono<Void> createMonthlyPartition(LocalDate month) {
+        LocalDate from = month.withDayOfMonth(1);
+        LocalDate to = from.plusMonths(1);
+        String partition = "auth_events_y%04dm%02d".formatted(from.getYear(), from.getMonthValue());
+        return databaseClient.sql("CREATE TABLE IF NOT EXISTS " + partition
+                        + " PARTITION OF auth_events FOR VALUES FROM ('" + from + "') TO ('" + to + "')")
+                .then();
+    }
+}
@@ -0,0 +1,29 @@
+package com.lms.examready.repository;
+
+import com.lms.examready.scoring.AttemptScore;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public interface ExamAttemptBatchRepository {
+
+    /**
+     * Records all scores with one statement and marks the attempts {@code SCORED}. Attempts that are no
+     * longer {@code FINISHED}, e.g. because another run scored them first, are left untouched. Emits the
+     * number of attempts updated. {@code scored_at} is taken from the database clock so that every node
+     * reads a single timeline in {@link #findScoredSince}.
+     */
+    Mono<Long> saveScores(List<AttemptScore> scores);
+
+    /**
+     * Best score of every candidate of the exam. The attempt id of the results is not set.
+     */
+    Flux<AttemptScore> findBestScores(UUID examId);
+
+    Flux<AttemptScore> findScoredSince(LocalDateTime since);
+
+    Flux<UUID> findExamsScoredSince(LocalDateTime since);
+}
@@ -0,0 +1,75 @@
+package com.lms.examready.repository;
+
+import com.lms.examready.scoring.AttemptScore;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class ExamAttemptBatchRepositoryImpl implements ExamAttemptBatchRepository {
+
+    private static final String UPDATE_PREFIX =
+            "UPDATE exam_attempts a SET status = 'SCORED', score = v.score, max_score = v.max_score, "
+                    + "scored_at = LOCALTIMESTAMP FROM (VALUES ";
+    private static final String UPDATE_SUFFIX =
+            ") AS v (id, score, max_score) WHERE a.id = v.id AND a.status = 'FINISHED'";
+    private static final MultiRowStatement<AttemptScore> ROWS = new MultiRowStatement<AttemptScore>()
+            .column(AttemptScore::attemptId, UUID.class, "uuid")
+            .column(AttemptScore::score, Integer.class, "integer")
+            .column(AttemptScore::maxScore, Integer.class, "integer");
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Mono<Long> saveScores(List<AttemptScore> scores) {
+        if (scores.isEmpty()) {
+            return Mono.just(0L);
+        }
+        return ROWS.bind(databaseClient.sql(UPDATE_PREFIX + ROWS.placeholders(scores.size()) + UPDATE_SUFFIX), scores)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    @Override
+    public Flux<AttemptScore> findBestScores(UUID examId) {
+        return databaseClient.sql("""
+                        SELECT NULL::uuid AS id, exam_id, user_id, MAX(score) AS score, MAX(max_score) AS max_score
+                        FROM exam_attempts
+                        WHERE exam_id = $1 AND status = 'SCORED'
+                        GROUP BY exam_id, user_id
+                        """)
+                .bind(0, examId)
+                .map(ExamAttemptBatchRepositoryImpl::toScore)
+                .all();
+    }
+
+    @Override
+    public Flux<AttemptScore> findScoredSince(LocalDateTime since) {
+        return databaseClient.sql("""
+                        SELECT id, exam_id, user_id, score, max_score FROM exam_attempts
+                        WHERE status = 'SCORED' AND scored_at >= $1
+                        """)
+                .bind(0, since)
+                .map(ExamAttemptBatchRepositoryImpl::toScore)
+                .all();
+    }
+
+    @Override
+    public Flux<UUID> findExamsScoredSince(LocalDateTime since) {
+        return databaseClient.sql("SELECT DISTINCT exam_id FROM exam_attempts WHERE status = 'SCORED' AND scored_at >= $1")
+                .bind(0, since)
+                .map(row -> row.get("exam_id", UUID.class))
+                .all();
+    }
+
+    private static AttemptScore toScore(Readable row) {
+        return new AttemptScore(row.get("id", UUID.class), row.get("exam_id", UUID.class), row.get("user_id", UUID.class),
+                row.get("score", Integer.class), row.get("max_score", Integer.class));
+    }
+}
@@ -0,0 +1,73 @@
+package com.lms.examready.repository;
+
+import com.lms.examready.model.ExamAttempt;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface ExamAttemptRepository extends R2dbcRepository<ExamAttempt, UUID>, ExamAttemptBatchRepository {
+
+    Mono<ExamAttempt> findByIdAndUserId(UUID id, UUID userId);
+
+    /**
+     * Opens an attempt. Completes empty when the user already has one open for the exam
+     * ({@code uk_exam_attempts_open}).
+     */
+    @Query("""
+            INSERT INTO exam_attempts (exam_id, user_id, status, started_at)
+            VALUES (:examId, :userId, 'IN_PROGRESS', :startedAt)
+            ON CONFLICT DO NOTHING
+            RETURNING *
+            """)
+    Mono<ExamAttempt> insertIfNoneOpen(UUID examId, UUID userId, LocalDateTime startedAt);
+
+    @Query("SELECT * FROM exam_attempts WHERE exam_id = :examId AND user_id = :userId AND status = 'IN_PROGRESS'")
+    Mono<ExamAttempt> findOpen(UUID examId, UUID userId);
+
+    /**
+     * Closes the attempt. Completes empty when it is not open or does not belong to the user.
+     */
+    @Query("""
+            UPDATE exam_attempts SET status = 'FINISHED', finished_at = :finishedAt
+            WHERE id = :id AND user_id = :userId AND status = 'IN_PROGRESS'
+            RETURNING *
+            """)
+    Mono<ExamAttempt> finish(UUID id, UUID userId, LocalDateTime finishedAt);
+
+    /**
+     * Finishes open attempts whose time limit ran out before {@code deadlineBefore}, as of their deadline,
+     * so answers given after it do not count.
+     */
+    @Query("""
+            UPDATE exam_attempts a
+            SET status = 'FINISHED', finished_at = a.started_at + make_interval(mins => e.duration_minutes)
+            FROM exams e
+            WHERE e.id = a.exam_id AND a.status = 'IN_PROGRESS'
+              AND a.started_at + make_interval(mins => e.duration_minutes) < :deadlineBefore
+            RETURNING a.id
+            """)
+    Flux<UUID> finishExpired(LocalDateTime deadlineBefore);
+
+    /**
+     * Claims one keyset page of attempts waiting to be scored. Rows locked by a concurrent scoring
+     * transaction are skipped rather than waited for. Only meaningful inside a transaction.
+     */
+    @Query("""
+            SELECT * FROM exam_attempts
+            WHERE status = 'FINISHED' AND id > :afterId AND finished_at <= :finishedBefore
+            ORDER BY id
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED
+            """)
+    Flux<ExamAttempt> findToScore(UUID afterId, LocalDateTime finishedBefore, int limit);
+
+    @Query("SELECT count(*) FROM exam_attempts WHERE status = 'FINISHED' AND finished_at <= :finishedBefore")
+    Mono<Long> countToScore(LocalDateTime finishedBefore);
+
+    @Query("SELECT LOCALTIMESTAMP")
+    Mono<LocalDateTime> currentTimestamp();
+}
@@ -0,0 +1,12 @@
+package com.lms.examready.repository;
+
+import com.lms.examready.model.Exam;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ExamRepository extends R2dbcRepository<Exam, UUID> {
+
+    Mono<Exam> findByIdAndPublishedTrue(UUID id);
+}
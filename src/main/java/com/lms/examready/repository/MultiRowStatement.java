@@ -0,0 +1,64 @@
+package com.lms.examready.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Describes the columns of a multi-row {@code VALUES} list, renders its {@code ($1, $2, ...), (...)}
+ * placeholders and binds the rows in the same order. Null values are bound with the column's type.
+ */
+final class MultiRowStatement<T> {
+
+    private record Column<T>(Function<T, ?> value, Class<?> type, String cast) {
+    }
+
+    private final List<Column<T>> columns = new ArrayList<>();
+
+    MultiRowStatement<T> column(Function<T, ?> value, Class<?> type) {
+        return column(value, type, null);
+    }
+
+    /**
+     * Adds a column whose placeholder is cast to {@code cast}, for {@code VALUES} lists whose column
+     * types Postgres cannot infer from the target table.
+     */
+    MultiRowStatement<T> column(Function<T, ?> value, Class<?> type, String cast) {
+        columns.add(new Column<>(value, type, cast));
+        return this;
+    }
+
+    String placeholders(int rows) {
+        StringBuilder sql = new StringBuilder();
+        int index = 1;
+        for (int row = 0; row < rows; row++) {
+            sql.append(row > 0 ? ", (" : "(");
+            for (int column = 0; column < columns.size(); column++) {
+                if (column > 0) {
+                    sql.append(", ");
+                }
+                sql.append('$').append(index++);
+                String cast = columns.get(column).cast();
+                if (cast != null) {
+                    sql.append("::").append(cast);
+                }
+            }
+            sql.append(')');
+        }
+        return sql.toString();
+    }
+
+    DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, List<T> rows) {
+        int index = 0;
+        for (T row : rows) {
+            for (Column<T> column : columns) {
+                Object value = column.value().apply(row);
+                spec = value != null ? spec.bind(index, value) : spec.bindNull(index, column.type());
+                index++;
+            }
+        }
+        return spec;
+    }
+}
@@ -0,0 +1,24 @@
+package com.lms.examready.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes Postgres notifications, which reach every instance listening on the channel once the
+ * surrounding transaction (if any) commits.
+ */
+@Repository
+@RequiredArgsConstructor
+public class NotificationRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<Void> notify(String channel, String payload) {
+        return databaseClient.sql("SELECT pg_notify($1, $2)")
+                .bind(0, channel)
+                .bind(1, payload)
+                .then();
+    }
+}
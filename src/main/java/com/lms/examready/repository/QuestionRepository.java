@@ -0,0 +1,34 @@
+package com.lms.examready.repository;
+
+import com.lms.examready.model.Question;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+
+import java.util.UUID;
+
+public interface QuestionRepository extends R2dbcRepository<Question, UUID> {
+
+    /**
+     * One keyset page: the questions after {@code afterPosition}, served by a range scan on
+     * {@code uk_questions_exam_position} no matter how deep into the exam the page is.
+     */
+    @Query("""
+            SELECT * FROM questions
+            WHERE exam_id = :examId AND position > :afterPosition
+            ORDER BY position
+            LIMIT :limit
+            """)
+    Flux<Question> findPage(UUID examId, int afterPosition, int limit);
+
+    /**
+     * The columns needed to score an exam, all of which {@code uk_questions_exam_position} covers, so
+     * this is an index-only scan. Prompt and choices are left empty.
+     */
+    @Query("""
+            SELECT id, exam_id, position, correct_choice, points FROM questions
+            WHERE exam_id = :examId
+            ORDER BY position
+            """)
+    Flux<Question> findAnswerKey(UUID examId);
+}
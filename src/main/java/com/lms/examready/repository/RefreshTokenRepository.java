@@ -0,0 +1,34 @@
+package com.lms.examready.repository;
+
+import com.lms.examready.model.RefreshToken;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface RefreshTokenRepository extends R2dbcRepository<RefreshToken, UUID> {
+
+    Mono<RefreshToken> findByTokenHash(String tokenHash);
+
+    /**
+     * Marks a live token as used and returns it, in one indexed statement. Completes empty when the
+     * token is unknown, expired, revoked or was already used.
+     */
+    @Query("""
+            UPDATE refresh_tokens SET used_at = :now
+            WHERE token_hash = :tokenHash AND used_at IS NULL AND revoked_at IS NULL AND expires_at > :now
+            RETURNING *
+            """)
+    Mono<RefreshToken> consume(String tokenHash, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE refresh_tokens SET revoked_at = :now WHERE family_id = :familyId AND revoked_at IS NULL")
+    Mono<Long> revokeFamily(UUID familyId, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM refresh_tokens WHERE id IN (SELECT id FROM refresh_tokens WHERE expires_at < :now LIMIT :batchSize)")
+    Mono<Long> deleteExpired(LocalDateTime now, int batchSize);
+}
@@ -0,0 +1,34 @@
+package com.lms.examready.repository;
+
+import com.lms.examready.model.RevokedToken;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+
+public interface RevokedTokenRepository extends R2dbcRepository<RevokedToken, String> {
+
+    /**
+     * {@code revoked_at} is taken from the database clock so that every node reads a single,
+     * consistent timeline when refreshing incrementally.
+     */
+    @Modifying
+    @Query("INSERT INTO revoked_tokens (jti, expires_at, revoked_at) VALUES (:jti, :expiresAt, LOCALTIMESTAMP) ON CONFLICT (jti) DO NOTHING")
+    Mono<Long> revoke(String jti, LocalDateTime expiresAt);
+
+    @Query("SELECT LOCALTIMESTAMP")
+    Mono<LocalDateTime> currentTimestamp();
+
+    @Query("SELECT * FROM revoked_tokens WHERE expires_at > :now")
+    Flux<RevokedToken> findActive(LocalDateTime now);
+
+    @Query("SELECT * FROM revoked_tokens WHERE revoked_at >= :since AND expires_at > :now")
+    Flux<RevokedToken> findActiveRevokedSince(LocalDateTime since, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM revoked_tokens WHERE jti IN (SELECT jti FROM revoked_tokens WHERE expires_at < :now LIMIT :batchSize)")
+    Mono<Long> deleteExpired(LocalDateTime now, int batchSize);
+}
@@ -0,0 +1,31 @@
+package com.lms.examready.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reads Flyway's {@code flyway_schema_history} over R2DBC, so serving nodes can check the schema
+ * without the JDBC driver or Flyway itself.
+ */
+@Repository
+@RequiredArgsConstructor
+public class SchemaHistoryRepository {
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Version of the last successful versioned migration. Completes empty when nothing was migrated.
+     */
+    public Mono<String> findCurrentVersion() {
+        return databaseClient.sql("""
+                        SELECT version FROM flyway_schema_history
+                        WHERE success AND version IS NOT NULL
+                        ORDER BY installed_rank DESC
+                        LIMIT 1
+                        """)
+                .map(row -> row.get("version", String.class))
+                .one();
+    }
+}
@@ -0,0 +1,15 @@
+package com.lms.examready.repository;
+
+import com.lms.examready.model.User;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+public interface UserBatchRepository {
+
+    /**
+     * Inserts all users with one multi-row statement, skipping rows that violate {@code uk_username}
+     * or {@code uk_email}. Emits the usernames that were actually inserted.
+     */
+    Flux<String> insertAllIfAbsent(List<User> users);
+}
@@ -0,0 +1,37 @@
+package com.lms.examready.repository;
+
+import com.lms.examready.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class UserBatchRepositoryImpl implements UserBatchRepository {
+
+    private static final String INSERT_PREFIX =
+            "INSERT INTO users (username, password, email, role, enabled, created_at, updated_at) VALUES ";
+    private static final String INSERT_SUFFIX = " ON CONFLICT DO NOTHING RETURNING username";
+    private static final MultiRowStatement<User> ROWS = new MultiRowStatement<User>()
+            .column(User::getUsername, String.class)
+            .column(User::getPassword, String.class)
+            .column(User::getEmail, String.class)
+            .column(user -> user.getRole().name(), String.class)
+            .column(User::isEnabled, Boolean.class)
+            .column(User::getCreatedAt, LocalDateTime.class)
+            .column(User::getUpdatedAt, LocalDateTime.class);
+
+    private final DatabaseClient databaseClient;
+
+    @Override
+    public Flux<String> insertAllIfAbsent(List<User> users) {
+        if (users.isEmpty()) {
+            return Flux.empty();
+        }
+        return ROWS.bind(databaseClient.sql(INSERT_PREFIX + ROWS.placeholders(users.size()) + INSERT_SUFFIX), users)
+                .map((row, metadata) -> row.get("username", String.class))
+                .all();
+    }
+}
@@ -1,12 +1,43 @@
 package com.lms.examready.repository;
 
 import com.lms.examready.model.User;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
-public interface UserRepository extends R2dbcRepository<User, UUID> {
+public interface UserRepository extends R2dbcRepository<User, UUID>, UserBatchRepository {
 
     Mono<User> findByUsername(String username);
+
+    Mono<Boolean> existsByUsername(String username);
+
+    /**
+     * Inserts the user in a single round trip. Emits the stored row, or completes empty when the
+     * username or email is already taken ({@code uk_username} / {@code uk_email}).
+     */
+    @Query("""
+            INSERT INTO users (username, password, email, role, enabled, created_at, updated_at)
+            VALUES (:username, :password, :email, :role, :enabled, :createdAt, :updatedAt)
+            ON CONFLICT DO NOTHING
+            RETURNING *
+            """)
+    Mono<User> insertIfAbsent(String username, String password, String email, String role, boolean enabled,
+                              LocalDateTime createdAt, LocalDateTime updatedAt);
+
+    @Query("UPDATE users SET enabled = :enabled, updated_at = :updatedAt WHERE id = :id RETURNING *")
+    Mono<User> updateEnabled(UUID id, boolean enabled, LocalDateTime updatedAt);
+
+    /**
+     * Replaces the password hash only if it is still {@code currentPassword}, so a concurrent password
+     * change always wins over a rehash. Completes empty when the hash has changed meanwhile.
+     */
+    @Query("""
+            UPDATE users SET password = :newPassword, updated_at = :updatedAt
+            WHERE id = :id AND password = :currentPassword
+            RETURNING *
+            """)
+    Mono<User> updatePasswordIfUnchanged(UUID id, String currentPassword, String newPassword, LocalDateTime updatedAt);
 }
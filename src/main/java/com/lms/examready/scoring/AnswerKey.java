@@ -0,0 +1,62 @@
+package com.lms.examready.scoring;
+
+import com.lms.examready.attempt.AttemptAnswer;
+import com.lms.examready.model.Question;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Correct choices and points of one exam in parallel primitive arrays, built once per scoring run and
+ * shared by every attempt of the exam.
+ */
+public final class AnswerKey {
+
+    private final Map<UUID, Integer> indexById;
+    private final short[] correctChoices;
+    private final short[] points;
+    private final int maxScore;
+
+    private AnswerKey(List<Question> questions) {
+        int size = questions.size();
+        Map<UUID, Integer> indexById = new HashMap<>();
+        this.correctChoices = new short[size];
+        this.points = new short[size];
+        int maxScore = 0;
+        for (int i = 0; i < size; i++) {
+            Question question = questions.get(i);
+            indexById.put(question.getId(), i);
+            correctChoices[i] = question.getCorrectChoice();
+            points[i] = question.getPoints();
+            maxScore += question.getPoints();
+        }
+        this.indexById = Map.copyOf(indexById);
+        this.maxScore = maxScore;
+    }
+
+    public static AnswerKey of(List<Question> questions) {
+        return new AnswerKey(questions);
+    }
+
+    public int maxScore() {
+        return maxScore;
+    }
+
+    /**
+     * Sums the points of the correctly answered questions. Answers to questions that are no longer part
+     * of the exam score nothing.
+     */
+    public int score(Collection<AttemptAnswer> answers) {
+        int score = 0;
+        for (AttemptAnswer answer : answers) {
+            Integer index = indexById.get(answer.questionId());
+            if (index != null && correctChoices[index] == answer.choice()) {
+                score += points[index];
+            }
+        }
+        return score;
+    }
+}
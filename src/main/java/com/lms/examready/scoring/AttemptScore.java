@@ -0,0 +1,12 @@
+package com.lms.examready.scoring;
+
+import java.util.UUID;
+
+public record AttemptScore(
+        UUID attemptId,
+        UUID examId,
+        UUID userId,
+        int score,
+        int maxScore
+) {
+}
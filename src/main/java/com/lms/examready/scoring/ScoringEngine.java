@@ -0,0 +1,206 @@
+package com.lms.examready.scoring;
+
+import com.lms.examready.attempt.AttemptAnswer;
+import com.lms.examready.leaderboard.LeaderboardService;
+import com.lms.examready.model.ExamAttempt;
+import com.lms.examready.repository.AttemptAnswerRepository;
+import com.lms.examready.repository.ExamAttemptRepository;
+import com.lms.examready.repository.QuestionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.time.LocalDateTime.now;
+
+/**
+ * Scores finished attempts in keyset batches. Each batch is claimed with {@code FOR UPDATE SKIP LOCKED},
+ * scored in parallel on a bounded pool and written back with one statement in the same transaction,
+ * so instances running at the same time share the work instead of repeating it, and a run that dies
+ * half way only leaves the unscored attempts behind for the next one.
+ * <p>
+ * Attempts are only picked up {@code settleDelay} after they finished, giving autosaves buffered on
+ * other instances time to be written. Scheduled runs are started on their own thread and never block
+ * the shared scheduling pool; a run that outlives {@code runTimeout} is cancelled and its open batch
+ * rolled back.
+ */
+@Component
+@Slf4j
+public class ScoringEngine {
+
+    private static final UUID FIRST = new UUID(0, 0);
+
+    private final ExamAttemptRepository examAttemptRepository;
+    private final AttemptAnswerRepository attemptAnswerRepository;
+    private final QuestionRepository questionRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final LeaderboardService leaderboardService;
+    private final int batchSize;
+    private final int parallelism;
+    private final Duration settleDelay;
+    private final Duration runTimeout;
+    private final Scheduler scheduler;
+    private final Scheduler runScheduler;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Disposable currentRun = Disposables.disposed();
+    private final AtomicLong remaining = new AtomicLong();
+    private final Counter scored;
+    private final Timer batchTimer;
+
+    public ScoringEngine(ExamAttemptRepository examAttemptRepository,
+                         AttemptAnswerRepository attemptAnswerRepository,
+                         QuestionRepository questionRepository,
+                         TransactionalOperator transactionalOperator,
+                         LeaderboardService leaderboardService,
+                         MeterRegistry meterRegistry,
+                         @Value("${scoring.batch-size:500}") int batchSize,
+                         @Value("${scoring.parallelism:0}") int parallelism,
+                         @Value("${scoring.settle-delay:30s}") Duration settleDelay,
+                         @Value("${scoring.run-timeout:10m}") Duration runTimeout) {
+        this.examAttemptRepository = examAttemptRepository;
+        this.attemptAnswerRepository = attemptAnswerRepository;
+        this.questionRepository = questionRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.leaderboardService = leaderboardService;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.settleDelay = settleDelay;
+        this.runTimeout = runTimeout;
+        this.scheduler = Schedulers.newParallel("scoring", this.parallelism, true);
+        this.runScheduler = Schedulers.newSingle("scoring-run", true);
+
+        this.scored = Counter.builder("scoring.attempts.scored").register(meterRegistry);
+        this.batchTimer = Timer.builder("scoring.batch").register(meterRegistry);
+        Gauge.builder("scoring.attempts.remaining", remaining, AtomicLong::get)
+                .description("Attempts left in the current scoring run")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Starts a scoring run unless the previous one is still going, and returns without waiting for it.
+     */
+    @Scheduled(fixedDelayString = "${scoring.interval:PT30S}")
+    public void scoreFinishedAttempts() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        currentRun = run()
+                .timeout(runTimeout)
+                .subscribeOn(runScheduler)
+                .doFinally(signal -> running.set(false))
+                .subscribe(count -> {
+                    if (count > 0) {
+                        log.info("Scored {} attempts", count);
+                    }
+                }, e -> log.error("Scoring run failed, unscored attempts are retried on the next run", e));
+    }
+
+    /**
+     * Scores every attempt that finished at least {@code settleDelay} ago. Emits the number of attempts
+     * this run scored.
+     */
+    public Mono<Long> run() {
+        return Mono.defer(() -> {
+            LocalDateTime finishedBefore = now().minus(settleDelay);
+            Map<UUID, Mono<AnswerKey>> answerKeys = new ConcurrentHashMap<>();
+            return examAttemptRepository.countToScore(finishedBefore)
+                    .doOnNext(remaining::set)
+                    .then(scoreBatch(FIRST, finishedBefore, answerKeys)
+                            .expand(batch -> batch.size() < batchSize
+                                    ? Mono.empty()
+                                    : scoreBatch(batch.lastId(), finishedBefore, answerKeys))
+                            .map(Batch::scored)
+                            .reduce(0L, Long::sum))
+                    .doFinally(signal -> remaining.set(0));
+        });
+    }
+
+    private Mono<Batch> scoreBatch(UUID afterId, LocalDateTime finishedBefore, Map<UUID, Mono<AnswerKey>> answerKeys) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return examAttemptRepository.findToScore(afterId, finishedBefore, batchSize)
+                    .collectList()
+                    .flatMap(attempts -> attempts.isEmpty()
+                            ? Mono.just(new Batch(afterId, 0, 0, List.of()))
+                            : score(attempts, answerKeys)
+                            .flatMap(scores -> examAttemptRepository.saveScores(scores)
+                                    .map(updated -> new Batch(attempts.get(attempts.size() - 1).getId(),
+                                            attempts.size(), updated, scores))))
+                    .as(transactionalOperator::transactional)
+                    .doOnNext(batch -> {
+                        leaderboardService.record(batch.scores());
+                        scored.increment(batch.scored());
+                        remaining.addAndGet(-batch.size());
+                        sample.stop(batchTimer);
+                    });
+        });
+    }
+
+    private Mono<List<AttemptScore>> score(List<ExamAttempt> attempts, Map<UUID, Mono<AnswerKey>> answerKeys) {
+        Mono<Map<UUID, Collection<AttemptAnswer>>> answers = attemptAnswerRepository
+                .findByAttemptIds(attempts.stream().map(ExamAttempt::getId).toList())
+                .collectMultimap(AttemptAnswer::attemptId);
+        Mono<Map<UUID, AnswerKey>> keys = Flux.fromStream(attempts.stream().map(ExamAttempt::getExamId).distinct())
+                .flatMap(examId -> answerKeys.computeIfAbsent(examId, this::loadAnswerKey)
+                        .map(key -> Map.entry(examId, key)))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+
+        return Mono.zip(answers, keys)
+                .flatMap(loaded -> Flux.fromIterable(attempts)
+                        .parallel(parallelism)
+                        .runOn(scheduler)
+                        .map(attempt -> {
+                            AnswerKey key = loaded.getT2().get(attempt.getExamId());
+                            Collection<AttemptAnswer> given = loaded.getT1().getOrDefault(attempt.getId(), List.of());
+                            return new AttemptScore(attempt.getId(), attempt.getExamId(), attempt.getUserId(),
+                                    key.score(given), key.maxScore());
+                        })
+                        .sequential()
+                        .collectList());
+    }
+
+    private Mono<AnswerKey> loadAnswerKey(UUID examId) {
+        return questionRepository.findAnswerKey(examId)
+                .collectList()
+                .map(AnswerKey::of)
+                .cache();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        currentRun.dispose();
+        runScheduler.dispose();
+        scheduler.dispose();
+    }
+
+    /**
+     * @param size    attempts claimed by the batch
+     * @param scored  attempts this batch actually updated
+     * @param scores  results of the batch, published to the leaderboards once committed
+     */
+    private record Batch(UUID lastId, int size, long scored, List<AttemptScore> scores) {
+    }
+}
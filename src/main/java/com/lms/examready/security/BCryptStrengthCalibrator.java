@@ -0,0 +1,51 @@
+package com.lms.examready.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.time.Duration;
+import java.util.function.IntFunction;
+
+/**
+ * Picks the highest BCrypt strength whose hash time stays within a target on the current hardware.
+ * Only {@code minStrength} is measured; each further step doubles the cost.
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+    private static final int SAMPLES = 3;
+
+    private BCryptStrengthCalibrator() {
+    }
+
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        int strength = strengthFor(targetLatency, minStrength, maxStrength, BCryptStrengthCalibrator::measure);
+        log.info("Calibrated BCrypt strength {} for a target of {} ms", strength, targetLatency.toMillis());
+        return strength;
+    }
+
+    static int strengthFor(Duration targetLatency, int minStrength, int maxStrength, IntFunction<Duration> measure) {
+        long baseNanos = Math.max(1, measure.apply(minStrength).toNanos());
+        int strength = minStrength;
+        while (strength < maxStrength && baseNanos << (strength + 1 - minStrength) <= targetLatency.toNanos()) {
+            strength++;
+        }
+        return strength;
+    }
+
+    /**
+     * Fastest of a few runs after a warm-up, which is the least disturbed by scheduling noise.
+     */
+    private static Duration measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode(SAMPLE_PASSWORD);
+        long fastest = Long.MAX_VALUE;
+        for (int i = 0; i < SAMPLES; i++) {
+            long startedAt = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            fastest = Math.min(fastest, System.nanoTime() - startedAt);
+        }
+        return Duration.ofNanos(fastest);
+    }
+}
@@ -0,0 +1,124 @@
+package com.lms.examready.security;
+
+import com.lms.examready.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every {@link PasswordEncoder} call on a dedicated, bounded worker pool so that BCrypt never
+ * executes on the Netty event loop. When both the workers and the queue are full the call fails fast
+ * with {@link PasswordHashingUnavailableException} instead of piling up work.
+ * <p>
+ * Opportunistic rehashes of outdated hashes run on a separate, smaller pool of low-priority threads
+ * and are dropped when it is full, so they never take capacity away from sign-ins.
+ */
+@Component
+@Slf4j
+public class PasswordHasher {
+
+    private static final String HASH_TIMER = "auth.password.hash";
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Scheduler scheduler;
+    private final Scheduler rehashScheduler;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+
+    public PasswordHasher(PasswordEncoder passwordEncoder,
+                          MeterRegistry meterRegistry,
+                          @Value("${password-hashing.pool-size:0}") int poolSize,
+                          @Value("${password-hashing.queue-capacity:256}") int queueCapacity,
+                          @Value("${password-hashing.rehash-pool-size:1}") int rehashPoolSize,
+                          @Value("${password-hashing.rehash-queue-capacity:16}") int rehashQueueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.executor = boundedExecutor("password-hashing", threads, queueCapacity, Thread.NORM_PRIORITY);
+        this.scheduler = Schedulers.fromExecutorService(executor, "password-hashing");
+        this.rehashScheduler = Schedulers.fromExecutorService(
+                boundedExecutor("password-rehashing", rehashPoolSize, rehashQueueCapacity, Thread.MIN_PRIORITY),
+                "password-rehashing");
+
+        this.encodeTimer = Timer.builder(HASH_TIMER).tag("operation", "encode").register(meterRegistry);
+        this.matchesTimer = Timer.builder(HASH_TIMER).tag("operation", "matches").register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+
+        log.info("Password hashing pool started with {} threads and a queue of {}", threads, queueCapacity);
+    }
+
+    public Mono<String> encode(CharSequence rawPassword) {
+        return offload(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    public Mono<Boolean> matches(CharSequence rawPassword, String encodedPassword) {
+        return offload(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    /**
+     * Encodes a password whose stored hash is outdated. Completes empty instead of failing when the
+     * rehash pool is full; the hash is upgraded on a later sign-in.
+     */
+    public Mono<String> rehash(CharSequence rawPassword) {
+        return Mono.fromCallable(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)))
+                .subscribeOn(rehashScheduler)
+                .onErrorResume(RejectedExecutionException.class, e -> Mono.empty());
+    }
+
+    /**
+     * Whether the hash was produced with outdated parameters and should be replaced. Only parses the
+     * hash, so it is cheap enough to call on the event loop.
+     */
+    public boolean upgradeEncoding(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    public int parallelism() {
+        return executor.getCorePoolSize();
+    }
+
+    private <T> Mono<T> offload(Callable<T> task) {
+        return Mono.fromCallable(task)
+                .subscribeOn(scheduler)
+                .onErrorMap(RejectedExecutionException.class, e ->
+                        new PasswordHashingUnavailableException("Password hashing capacity exhausted, retry shortly"));
+    }
+
+    private static ThreadPoolExecutor boundedExecutor(String name, int threads, int queueCapacity, int priority) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(priority);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.dispose();
+        rehashScheduler.dispose();
+    }
+}
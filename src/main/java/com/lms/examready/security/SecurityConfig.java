@@ -1,18 +1,27 @@
 package com.lms.examready.security;
 
 import com.lms.examready.security.jwt.JwtAuthenticationWebFilter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.web.server.ManagementPortType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.reactive.CorsConfigurationSource;
 import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 import static org.springframework.http.HttpMethod.GET;
 import static org.springframework.http.HttpMethod.POST;
@@ -22,6 +31,29 @@ import static org.springframework.security.config.web.server.SecurityWebFiltersO
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
+    /**
+     * When actuator runs on its own {@code management.server.port}, which is only reachable from the internal
+     * network, its endpoints are open there so that Prometheus can scrape without a (short-lived) admin JWT.
+     * On the application port they stay behind ADMIN.
+     */
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public SecurityWebFilterChain managementWebFilterChain(ServerHttpSecurity http, Environment environment,
+                                                           @Value("${management.server.port:-1}") int managementPort) {
+        boolean separatePort = ManagementPortType.get(environment) == ManagementPortType.DIFFERENT;
+        return http
+                .securityMatcher(exchange -> separatePort && exchange.getRequest().getLocalAddress() != null
+                        && exchange.getRequest().getLocalAddress().getPort() == managementPort
+                        ? ServerWebExchangeMatcher.MatchResult.match()
+                        : ServerWebExchangeMatcher.MatchResult.notMatch())
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .authorizeExchange(exchanges -> exchanges.anyExchange().permitAll())
+                .build();
+    }
+
     @Bean
     public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtAuthenticationWebFilter webFilter) {
         return http
@@ -32,9 +64,13 @@ public class SecurityConfig {
                 .logout(ServerHttpSecurity.LogoutSpec::disable)
                 .authorizeExchange(exchanges -> exchanges
                         // Public endpoints
-                        .pathMatchers("/api/auth/sign-in", "/api/auth/sign-up").permitAll()
+                        .pathMatchers("/api/auth/sign-in", "/api/auth/sign-up", "/api/auth/refresh").permitAll()
                         .pathMatchers( GET,"/actuator/health").permitAll()
 
+                        // Administration
+                        .pathMatchers("/api/admin/**").hasRole("ADMIN")
+                        .pathMatchers("/actuator/**").hasRole("ADMIN")
+
 
                         // All other endpoints require authentication
                         .anyExchange().authenticated()
@@ -51,8 +87,9 @@ public class SecurityConfig {
                 "http://exam-ready-staging-fe.s3-website.eu-central-1.amazonaws.com"
         ));
         configuration.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
-        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Requested-With", "Accept"));
-        configuration.setExposedHeaders(List.of("Authorization"));
+        configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "X-Requested-With", "Accept",
+                "Idempotency-Key", "Refresh-Token"));
+        configuration.setExposedHeaders(List.of("Authorization", "Refresh-Token"));
         configuration.setMaxAge(3600L);
         configuration.setAllowCredentials(true);
 
@@ -61,8 +98,23 @@ public class SecurityConfig {
         return source;
     }
 
+    /**
+     * New hashes are written as {@code {bcrypt}...}. Hashes stored before the prefix was introduced are
+     * still verified as BCrypt and are upgraded on the next successful sign-in, as are hashes whose
+     * strength is below the current one. A strength of 0 calibrates it at startup.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(@Value("${password-encoder.bcrypt.strength:0}") int strength,
+                                           @Value("${password-encoder.bcrypt.target-latency:250ms}") Duration targetLatency,
+                                           @Value("${password-encoder.bcrypt.min-strength:10}") int minStrength,
+                                           @Value("${password-encoder.bcrypt.max-strength:14}") int maxStrength) {
+        int bcryptStrength = strength > 0
+                ? strength
+                : BCryptStrengthCalibrator.calibrate(targetLatency, minStrength, maxStrength);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+
+        DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        passwordEncoder.setDefaultPasswordEncoderForMatches(bcrypt);
+        return passwordEncoder;
     }
 }
@@ -0,0 +1,117 @@
+package com.lms.examready.security.jwt;
+
+import com.lms.examready.model.Role;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static com.lms.examready.security.jwt.JwtProvider.ROLE_PREFIX;
+
+/**
+ * Authentication carried by a verified access token, built per request from the cached
+ * {@link VerifiedToken}. The principal is the user id as a {@link UUID}, and the authorities are shared
+ * per {@link Role}, so an instance costs a single small allocation.
+ * <p>
+ * As with Spring's own tokens, {@link #setAuthenticated} only accepts {@code false}: being trusted comes
+ * from the verified token. Clearing it distrusts this request's authentication only.
+ */
+public final class JwtAuthentication implements Authentication {
+
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role.name())));
+        }
+    }
+
+    private final UUID userId;
+    private final String subject;
+    private final String username;
+    private final Role role;
+
+    private boolean authenticated = true;
+
+    /**
+     * @param subject the token's {@code sub} claim, i.e. {@code userId} as sent; kept so that
+     *                {@link #getName()} does not format the id again on every call
+     */
+    public JwtAuthentication(UUID userId, String subject, String username, Role role) {
+        this.userId = userId;
+        this.subject = subject;
+        this.username = username;
+        this.role = role;
+    }
+
+    public UUID userId() {
+        return userId;
+    }
+
+    public String username() {
+        return username;
+    }
+
+    public Role role() {
+        return role;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES.get(role);
+    }
+
+    @Override
+    public Object getCredentials() {
+        return null;
+    }
+
+    @Override
+    public Object getDetails() {
+        return null;
+    }
+
+    @Override
+    public UUID getPrincipal() {
+        return userId;
+    }
+
+    @Override
+    public boolean isAuthenticated() {
+        return authenticated;
+    }
+
+    @Override
+    public void setAuthenticated(boolean authenticated) {
+        if (authenticated) {
+            throw new IllegalArgumentException("A JwtAuthentication is trusted only through its verified token");
+        }
+        this.authenticated = false;
+    }
+
+    @Override
+    public String getName() {
+        return subject;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof JwtAuthentication that && userId.equals(that.userId) && role == that.role
+                && username.equals(that.username);
+    }
+
+    @Override
+    public int hashCode() {
+        return userId.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "JwtAuthentication[userId=" + userId + ", role=" + role + "]";
+    }
+}
@@ -1,6 +1,6 @@
 package com.lms.examready.security.jwt;
 
-import io.jsonwebtoken.Claims;
+import com.lms.examready.security.revocation.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -11,22 +11,37 @@ import org.springframework.web.server.WebFilter;
 import org.springframework.web.server.WebFilterChain;
 import reactor.core.publisher.Mono;
 
+/**
+ * Authenticates requests carrying a bearer token. Verified tokens come from the {@link VerifiedTokenCache};
+ * every exchange gets its own {@link JwtAuthentication} built from the cached claims.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthenticationWebFilter implements WebFilter {
 
     private final JwtProvider jwtProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
 
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
-        Authentication authentication = jwtProvider.getAuthentication(exchange.getRequest());
-        if (authentication != null) {
-            log.debug("Authenticated userId: {}", authentication.getName());
-            return chain.filter(exchange)
-                    .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+        String token = jwtProvider.resolveToken(exchange.getRequest());
+        VerifiedToken verifiedToken = token != null ? verifiedTokenCache.get(token, jwtProvider::verify) : null;
+        if (verifiedToken == null) {
+            log.info("No valid JWT found in request");
+            return chain.filter(exchange);
         }
-        log.info("No valid JWT found in request");
-        return chain.filter(exchange);
+        return tokenRevocationService.isRevoked(verifiedToken.tokenId())
+                .flatMap(revoked -> {
+                    if (revoked) {
+                        log.info("Revoked JWT presented");
+                        return chain.filter(exchange);
+                    }
+                    Authentication authentication = verifiedToken.authentication();
+                    log.debug("Authenticated userId: {}", authentication.getName());
+                    return chain.filter(exchange)
+                            .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
+                });
     }
 }
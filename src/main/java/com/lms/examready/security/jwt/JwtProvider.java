@@ -1,20 +1,23 @@
 package com.lms.examready.security.jwt;
 
 
+import com.lms.examready.metrics.AuthenticationMetrics;
+import com.lms.examready.metrics.AuthenticationMetrics.TokenOutcome;
 import com.lms.examready.model.Role;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.server.reactive.ServerHttpRequest;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.*;
 
 import static io.jsonwebtoken.Jwts.SIG.HS256;
@@ -22,64 +25,117 @@ import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtProvider {
 
+    private final AuthenticationMetrics authenticationMetrics;
+
     @Value("${jwt.secret}")
     private String jwtSecretString;
 
-    private byte[] jwtSecret;
+    @Value("${jwt.key-id:primary}")
+    private String jwtKeyId;
+
+    /**
+     * Previous secrets that are still accepted for verification, as {@code keyId:hexSecret} pairs.
+     * Keeping the old key here while issuing with a new one lets secrets rotate without logging everyone out.
+     */
+    @Value("${jwt.verification-secrets:}")
+    private List<String> verificationSecrets;
 
     @Value("${jwt.expiration-in-millis}")
     private Long jwtExpiration;
 
+    private SecretKey signingKey;
+
+    private JwtParser jwtParser;
+
     public static final String AUTH_TOKEN_TYPE = "Bearer ";
     public static final String ROLE_PREFIX = "ROLE_";
 
+    private static final Role[] ROLES = Role.values();
+
     @PostConstruct
     public void init() {
-        // Convert hex string to byte array
-        jwtSecret = hexToBytes(jwtSecretString);
+        signingKey = Keys.hmacShaKeyFor(hexToBytes(jwtSecretString));
+
+        Map<String, SecretKey> keys = new HashMap<>();
+        keys.put(jwtKeyId, signingKey);
+        for (String entry : verificationSecrets) {
+            if (!StringUtils.hasText(entry)) {
+                continue;
+            }
+            int separator = entry.indexOf(':');
+            if (separator <= 0) {
+                throw new IllegalStateException("jwt.verification-secrets entries must be 'keyId:hexSecret'");
+            }
+            keys.putIfAbsent(entry.substring(0, separator).trim(),
+                    Keys.hmacShaKeyFor(hexToBytes(entry.substring(separator + 1).trim())));
+        }
+
+        jwtParser = Jwts.parser()
+                .keyLocator(new KeyIdLocator(Map.copyOf(keys), signingKey))
+                .build();
     }
 
 
     public String generateToken(UUID userId, String username, Role role) {
-
-        return Jwts.builder()
-                .subject(userId.toString())
-                .claim("username", username)
-                .claim("role", role.name())
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + jwtExpiration))
-                .signWith(Keys.hmacShaKeyFor(jwtSecret), HS256)
-                .compact();
+        return authenticationMetrics.timeTokenGeneration(() -> {
+            long now = System.currentTimeMillis();
+
+            return Jwts.builder()
+                    .header().keyId(jwtKeyId).and()
+                    .id(UUID.randomUUID().toString())
+                    .subject(userId.toString())
+                    .claim("username", username)
+                    .claim("role", role.name())
+                    .issuedAt(new Date(now))
+                    .expiration(new Date(now + jwtExpiration))
+                    .signWith(signingKey, HS256)
+                    .compact();
+        });
     }
 
     public Authentication getAuthentication(ServerHttpRequest request) {
-        String token = extractToken(request);
+        VerifiedToken verifiedToken = verify(resolveToken(request));
+        return verifiedToken != null ? verifiedToken.authentication() : null;
+    }
+
+    public VerifiedToken verify(String token) {
         if (token != null) {
+            long startedAt = authenticationMetrics.startTokenVerification();
             try {
-                Claims claims = Jwts.parser()
-                        .verifyWith(Keys.hmacShaKeyFor(jwtSecret))
-                        .build()
+                Claims claims = jwtParser
                         .parseSignedClaims(token)
                         .getPayload();
 
 
-                String userId = claims.getSubject();
-                String username = claims.get("username", String.class);
-                String role = claims.get("role", String.class);
-
-                if (userId != null && username != null && role != null) {
-                    List<SimpleGrantedAuthority> authorities = List.of(new SimpleGrantedAuthority(ROLE_PREFIX + role));
-                    return new UsernamePasswordAuthenticationToken(
-                            userId, null, authorities
+                String subject = claims.getSubject();
+                Object username = claims.get("username");
+                Role role = roleOf(claims.get("role"));
+                Date expiration = claims.getExpiration();
+                UUID userId = userIdOf(subject);
+
+                if (userId != null && username instanceof String name && role != null && expiration != null) {
+                    authenticationMetrics.tokenVerified(startedAt, TokenOutcome.VALID);
+                    return new VerifiedToken(
+                            userId,
+                            subject,
+                            name,
+                            role,
+                            claims.getId(),
+                            expiration.getTime()
                     );
                 }
+                authenticationMetrics.tokenVerified(startedAt, TokenOutcome.INVALID);
             } catch (ExpiredJwtException e) {
+                authenticationMetrics.tokenVerified(startedAt, TokenOutcome.EXPIRED);
                 log.warn("Expired token: {}", e.getMessage());
                 return null;
-            } catch (SignatureException | MalformedJwtException e) {
+            } catch (JwtException | IllegalArgumentException e) {
+                // Bad signature, unknown key id, unsigned or otherwise unsupported tokens
+                authenticationMetrics.tokenVerified(startedAt, TokenOutcome.INVALID);
                 log.warn("Invalid token: {}", e.getMessage());
                 return null;
             }
@@ -87,7 +143,7 @@ public class JwtProvider {
         return null;
     }
 
-    private String extractToken(ServerHttpRequest request) {
+    public String resolveToken(ServerHttpRequest request) {
         String bearerToken = request.getHeaders().getFirst(AUTHORIZATION);
         if (StringUtils.hasText(bearerToken) && bearerToken.startsWith(AUTH_TOKEN_TYPE)) {
             String token = bearerToken.substring(AUTH_TOKEN_TYPE.length());
@@ -99,6 +155,28 @@ public class JwtProvider {
         return null;
     }
 
+    private static Role roleOf(Object claim) {
+        if (claim instanceof String name) {
+            for (Role role : ROLES) {
+                if (role.name().equals(name)) {
+                    return role;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static UUID userIdOf(String subject) {
+        if (subject == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(subject);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
     private byte[] hexToBytes(String hex) {
         int len = hex.length();
         byte[] data = new byte[len / 2];
@@ -108,4 +186,32 @@ public class JwtProvider {
         }
         return data;
     }
+
+    /**
+     * Resolves the verification key from the {@code kid} header. Tokens issued before key ids were
+     * introduced carry no {@code kid} and are verified with the current signing key.
+     */
+    private static final class KeyIdLocator extends LocatorAdapter<Key> {
+
+        private final Map<String, SecretKey> keys;
+        private final SecretKey defaultKey;
+
+        private KeyIdLocator(Map<String, SecretKey> keys, SecretKey defaultKey) {
+            this.keys = keys;
+            this.defaultKey = defaultKey;
+        }
+
+        @Override
+        protected Key locate(JwsHeader header) {
+            String keyId = header.getKeyId();
+            if (keyId == null) {
+                return defaultKey;
+            }
+            SecretKey key = keys.get(keyId);
+            if (key == null) {
+                throw new SignatureException("Unknown signing key id: " + keyId);
+            }
+            return key;
+        }
+    }
 }
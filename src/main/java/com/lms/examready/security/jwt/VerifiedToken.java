@@ -0,0 +1,28 @@
+package com.lms.examready.security.jwt;
+
+import com.lms.examready.model.Role;
+
+import java.util.UUID;
+
+/**
+ * The claims of a verified access token. Instances are immutable and shared through the
+ * {@link VerifiedTokenCache}; each request gets its own {@link JwtAuthentication} from {@link #authentication()}.
+ *
+ * @param subject the token's {@code sub} claim, i.e. {@code userId} as sent
+ */
+public record VerifiedToken(
+        UUID userId,
+        String subject,
+        String username,
+        Role role,
+        String tokenId,
+        long expiresAtMillis
+) {
+
+    /**
+     * A new authentication for one request; distrusting it does not affect other requests with the same token.
+     */
+    public JwtAuthentication authentication() {
+        return new JwtAuthentication(userId, subject, username, role);
+    }
+}
@@ -0,0 +1,135 @@
+package com.lms.examready.security.revocation;
+
+import com.lms.examready.model.RevokedToken;
+import com.lms.examready.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static java.time.LocalDateTime.now;
+
+/**
+ * Denylist of revoked access tokens, keyed by {@code jti}. Every node keeps a Bloom filter of the
+ * active revocations so that the common case, a token that was never revoked, is answered without
+ * I/O; only possible matches are confirmed against {@code revoked_tokens}.
+ * <p>
+ * The filter is kept in sync with other nodes by an incremental refresh on {@code revoked_at} and is
+ * rebuilt periodically so that expired revocations stop occupying bits.
+ */
+@Service
+@Slf4j
+public class TokenRevocationService {
+
+    private static final String LOOKUPS = "auth.token.revocation.lookups";
+    private static final Mono<Boolean> NOT_REVOKED = Mono.just(false);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final Duration refreshOverlap;
+    private final int purgeBatchSize;
+
+    private final Counter filteredLookups;
+    private final Counter revokedLookups;
+    private final Counter falsePositiveLookups;
+
+    private volatile BloomFilter filter;
+    private LocalDateTime refreshedUpTo;
+
+    public TokenRevocationService(RevokedTokenRepository revokedTokenRepository,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${token-revocation.expected-insertions:100000}") long expectedInsertions,
+                                  @Value("${token-revocation.false-positive-rate:0.001}") double falsePositiveRate,
+                                  @Value("${token-revocation.refresh-overlap:5s}") Duration refreshOverlap,
+                                  @Value("${token-revocation.purge-batch-size:1000}") int purgeBatchSize) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.refreshOverlap = refreshOverlap;
+        this.purgeBatchSize = purgeBatchSize;
+        this.filter = new BloomFilter(expectedInsertions, falsePositiveRate);
+
+        this.filteredLookups = Counter.builder(LOOKUPS).tag("result", "filtered").register(meterRegistry);
+        this.revokedLookups = Counter.builder(LOOKUPS).tag("result", "revoked").register(meterRegistry);
+        this.falsePositiveLookups = Counter.builder(LOOKUPS).tag("result", "false-positive").register(meterRegistry);
+    }
+
+    /**
+     * Tokens issued without a {@code jti} predate revocation support and are never reported as revoked.
+     */
+    public Mono<Boolean> isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            filteredLookups.increment();
+            return NOT_REVOKED;
+        }
+        return revokedTokenRepository.existsById(tokenId)
+                .doOnNext(revoked -> (revoked ? revokedLookups : falsePositiveLookups).increment());
+    }
+
+    public Mono<Void> revoke(String tokenId, long expiresAtMillis) {
+        if (tokenId == null) {
+            return Mono.empty();
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(expiresAtMillis), ZoneId.systemDefault());
+        return revokedTokenRepository.revoke(tokenId, expiresAt)
+                .doOnNext(inserted -> filter.put(tokenId))
+                .then();
+    }
+
+    /**
+     * Adds revocations made on any node since the last refresh. The cursor is the database clock, and
+     * each window overlaps the previous one so that rows committed slightly out of {@code revoked_at}
+     * order are not missed; re-adding a value to the filter is harmless.
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.refresh-interval:PT5S}", initialDelayString = "${token-revocation.refresh-interval:PT5S}")
+    public synchronized void refresh() {
+        if (refreshedUpTo == null) {
+            rebuild();
+            return;
+        }
+        LocalDateTime databaseNow = revokedTokenRepository.currentTimestamp().block();
+        List<RevokedToken> revokedTokens = revokedTokenRepository
+                .findActiveRevokedSince(refreshedUpTo.minus(refreshOverlap), now())
+                .collectList()
+                .block();
+        BloomFilter current = filter;
+        revokedTokens.forEach(revokedToken -> current.put(revokedToken.getJti()));
+        refreshedUpTo = databaseNow;
+    }
+
+    /**
+     * Replaces the filter with one built from the active revocations only and purges expired rows.
+     */
+    @Scheduled(fixedDelayString = "${token-revocation.rebuild-interval:PT1H}", initialDelay = 0)
+    public synchronized void rebuild() {
+        LocalDateTime now = now();
+        Long purged = revokedTokenRepository.deleteExpired(now, purgeBatchSize)
+                .expand(deleted -> deleted == purgeBatchSize
+                        ? revokedTokenRepository.deleteExpired(now, purgeBatchSize)
+                        : Mono.empty())
+                .reduce(0L, Long::sum)
+                .block();
+
+        LocalDateTime databaseNow = revokedTokenRepository.currentTimestamp().block();
+        List<RevokedToken> revokedTokens = revokedTokenRepository.findActive(now).collectList().block();
+        if (revokedTokens.size() > expectedInsertions) {
+            log.warn("{} active revocations exceed token-revocation.expected-insertions={}, false positives will rise",
+                    revokedTokens.size(), expectedInsertions);
+        }
+        BloomFilter rebuilt = new BloomFilter(expectedInsertions, falsePositiveRate);
+        revokedTokens.forEach(revokedToken -> rebuilt.put(revokedToken.getJti()));
+        filter = rebuilt;
+        refreshedUpTo = databaseNow;
+        log.debug("Rebuilt revocation filter with {} entries, purged {} expired", revokedTokens.size(), purged);
+    }
+}
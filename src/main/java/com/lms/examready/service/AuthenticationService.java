@@ -1,48 +1,127 @@
 package com.lms.examready.service;
 
+import com.lms.examready.audit.AuthEvent;
+import com.lms.examready.audit.AuthEventPublisher;
+import com.lms.examready.dto.request.RefreshTokenRequestDto;
 import com.lms.examready.dto.request.SignInRequestDto;
 import com.lms.examready.dto.request.SignUpRequestDto;
+import com.lms.examready.dto.response.TokenResponseDto;
 import com.lms.examready.dto.response.UserResponseDto;
 import com.lms.examready.exception.UserAlreadyExistsException;
+import com.lms.examready.metrics.AuthenticationMetrics;
+import com.lms.examready.metrics.AuthenticationMetrics.SignInOutcome;
+import com.lms.examready.model.User;
+import com.lms.examready.security.PasswordHasher;
 import com.lms.examready.security.jwt.JwtProvider;
+import com.lms.examready.security.jwt.VerifiedToken;
+import com.lms.examready.security.jwt.VerifiedTokenCache;
+import com.lms.examready.security.revocation.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.util.UUID;
+
+import static com.lms.examready.audit.AuthEventType.*;
+import static com.lms.examready.metrics.AuthenticationMetrics.SignInOutcome.*;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuthenticationService {
 
     private final UserService userService;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final JwtProvider jwtProvider;
+    private final RefreshTokenService refreshTokenService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final AuthenticationMetrics authenticationMetrics;
+    private final AuthEventPublisher authEventPublisher;
 
     public Mono<UserResponseDto> signUp(SignUpRequestDto signUpRequestDto) {
-        return userService.findByUsername(signUpRequestDto.username())
-                .flatMap(existingUser -> Mono.<UserResponseDto>error(
-                        new UserAlreadyExistsException("Username '" + signUpRequestDto.username() + "' already exists")
-                ))
-                .switchIfEmpty(
-                        Mono.defer(() -> userService.saveUser(signUpRequestDto).map(UserResponseDto::from))
-                );
+        return userService.saveUser(signUpRequestDto)
+                .doOnNext(user -> authEventPublisher.publish(AuthEvent.of(SIGNED_UP, user.getId(), user.getUsername(), null)))
+                .map(UserResponseDto::from)
+                .switchIfEmpty(Mono.defer(() -> userService.existsByUsername(signUpRequestDto.username())
+                        .flatMap(usernameTaken -> Mono.<UserResponseDto>error(new UserAlreadyExistsException(usernameTaken
+                                ? "Username '" + signUpRequestDto.username() + "' already exists"
+                                : "Email '" + signUpRequestDto.email() + "' already exists")))));
     }
 
-    public Mono<String> signIn(SignInRequestDto signInRequestDto) {
+    public Mono<TokenResponseDto> signIn(SignInRequestDto signInRequestDto) {
         return userService.findByUsername(signInRequestDto.username())
-                .switchIfEmpty(Mono.error(new BadCredentialsException("Invalid username or password")))
+                .switchIfEmpty(Mono.defer(() -> {
+                    signInFailed(UNKNOWN_USER, null, signInRequestDto.username());
+                    return Mono.<User>error(new BadCredentialsException("Invalid username or password"));
+                }))
                 .flatMap(user -> {
                     if (!user.isEnabled()) {
-                        return Mono.error(new BadCredentialsException("Account is disabled"));
-                    } else if (passwordEncoder.matches(signInRequestDto.password(), user.getPassword())) {
-                        return Mono.just(jwtProvider.generateToken(user.getId(), user.getUsername(), user.getRole()));
-                    } else {
-                        return Mono.error(new BadCredentialsException("Invalid username or password"));
+                        signInFailed(DISABLED, user.getId(), user.getUsername());
+                        return Mono.<TokenResponseDto>error(new BadCredentialsException("Account is disabled"));
                     }
+                    return passwordHasher.matches(signInRequestDto.password(), user.getPassword())
+                            .flatMap(matches -> {
+                                if (!matches) {
+                                    signInFailed(BAD_PASSWORD, user.getId(), user.getUsername());
+                                    return Mono.<TokenResponseDto>error(new BadCredentialsException("Invalid username or password"));
+                                }
+                                authenticationMetrics.signIn(SUCCESS);
+                                authEventPublisher.publish(AuthEvent.of(SIGN_IN_SUCCEEDED, user.getId(), user.getUsername(), null));
+                                upgradePasswordHash(user, signInRequestDto.password());
+                                return issueTokens(user);
+                            });
                 });
     }
 
+    public Mono<TokenResponseDto> refresh(RefreshTokenRequestDto refreshTokenRequestDto) {
+        return refreshTokenService.rotate(refreshTokenRequestDto.refreshToken())
+                .flatMap(rotation -> userService.findById(rotation.userId())
+                        .filter(User::isEnabled)
+                        .switchIfEmpty(Mono.error(new BadCredentialsException("Account is disabled")))
+                        .map(user -> new TokenResponseDto(
+                                jwtProvider.generateToken(user.getId(), user.getUsername(), user.getRole()),
+                                rotation.refreshToken())));
+    }
+
+    /**
+     * Revokes the access token and, when given, the refresh token family it was issued with.
+     */
+    public Mono<Void> signOut(String accessToken, String refreshToken) {
+        VerifiedToken verifiedToken = verifiedTokenCache.get(accessToken, jwtProvider::verify);
+        if (verifiedToken == null) {
+            return Mono.error(new BadCredentialsException("Invalid access token"));
+        }
+        UUID userId = verifiedToken.userId();
+        return tokenRevocationService.revoke(verifiedToken.tokenId(), verifiedToken.expiresAtMillis())
+                .then(refreshToken != null ? refreshTokenService.revoke(refreshToken, userId) : Mono.<Void>empty())
+                .doOnSuccess(ignored -> authEventPublisher.publish(AuthEvent.of(SIGNED_OUT, userId, null, null)));
+    }
+
+    private void signInFailed(SignInOutcome outcome, UUID userId, String username) {
+        authenticationMetrics.signIn(outcome);
+        authEventPublisher.publish(AuthEvent.of(SIGN_IN_FAILED, userId, username, outcome.name()));
+    }
+
+    /**
+     * Rehashes outdated passwords in the background; sign-in does not wait for the extra hash. A failed
+     * upgrade is retried on the next sign-in.
+     */
+    private void upgradePasswordHash(User user, String rawPassword) {
+        if (passwordHasher.upgradeEncoding(user.getPassword())) {
+            userService.rehashPassword(user, rawPassword)
+                    .subscribe(
+                            upgraded -> log.debug("Upgraded password hash for user {}", user.getId()),
+                            e -> log.warn("Password hash upgrade failed for user {}: {}", user.getId(), e.getMessage()));
+        }
+    }
+
+    private Mono<TokenResponseDto> issueTokens(User user) {
+        String accessToken = jwtProvider.generateToken(user.getId(), user.getUsername(), user.getRole());
+        return refreshTokenService.issue(user.getId())
+                .map(refreshToken -> new TokenResponseDto(accessToken, refreshToken));
+    }
+
 }
@@ -0,0 +1,215 @@
+package com.lms.examready.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.lms.examready.attempt.AnswerBuffer;
+import com.lms.examready.attempt.AttemptAnswer;
+import com.lms.examready.cache.ExamSnapshot;
+import com.lms.examready.dto.request.AnswerRequestDto;
+import com.lms.examready.dto.response.AnswersAcceptedDto;
+import com.lms.examready.exception.AnswersUnavailableException;
+import com.lms.examready.exception.AttemptNotFoundException;
+import com.lms.examready.exception.AttemptNotInProgressException;
+import com.lms.examready.exception.InvalidAnswerException;
+import com.lms.examready.model.AttemptStatus;
+import com.lms.examready.model.ExamAttempt;
+import com.lms.examready.repository.ExamAttemptRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static java.time.LocalDateTime.now;
+
+/**
+ * Exam attempts. Autosaved answers are validated against the cached exam snapshot and handed to the
+ * {@link AnswerBuffer}; open attempts are cached briefly so an autosave normally costs no query at all.
+ * An attempt closes at {@code startedAt + durationMinutes}: later answers are rejected, and attempts left
+ * open past their deadline are finished as of that deadline by a periodic sweep. A finish on any node is
+ * announced by the database and evicts the attempt from every node's cache (see {@link #evictOpenAttempt}).
+ */
+@Service
+@Slf4j
+public class ExamAttemptService {
+
+    private final ExamAttemptRepository examAttemptRepository;
+    private final ExamService examService;
+    private final AnswerBuffer answerBuffer;
+    private final Cache<UUID, ExamAttempt> openAttempts;
+    private final Cache<String, AnswersAcceptedDto> submissions;
+    private final Duration expiryGrace;
+
+    public ExamAttemptService(ExamAttemptRepository examAttemptRepository,
+                              ExamService examService,
+                              AnswerBuffer answerBuffer,
+                              @Value("${attempt-answers.open-attempt-cache-ttl:1m}") Duration openAttemptTtl,
+                              @Value("${attempt-answers.idempotency-key-ttl:10m}") Duration idempotencyKeyTtl,
+                              @Value("${attempt-answers.maximum-keys:100000}") long maximumKeys,
+                              @Value("${attempt-answers.expiry-grace:30s}") Duration expiryGrace) {
+        this.examAttemptRepository = examAttemptRepository;
+        this.examService = examService;
+        this.answerBuffer = answerBuffer;
+        this.expiryGrace = expiryGrace;
+        this.openAttempts = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterWrite(openAttemptTtl)
+                .build();
+        this.submissions = Caffeine.newBuilder()
+                .maximumSize(maximumKeys)
+                .expireAfterWrite(idempotencyKeyTtl)
+                .build();
+    }
+
+    /**
+     * Opens an attempt, or returns the one the user already has open for the exam.
+     */
+    public Mono<ExamAttempt> start(UUID userId, UUID examId) {
+        return examService.findPublishedExam(examId)
+                .flatMap(exam -> examAttemptRepository.insertIfNoneOpen(examId, userId, now())
+                        .switchIfEmpty(examAttemptRepository.findOpen(examId, userId)));
+    }
+
+    /**
+     * Buffers an autosave. A submission repeated with the same {@code idempotencyKey} returns the
+     * original acknowledgement without buffering anything again.
+     */
+    public Mono<AnswersAcceptedDto> submitAnswers(UUID userId, UUID attemptId, String idempotencyKey,
+                                                  List<AnswerRequestDto> answers) {
+        String submissionKey = idempotencyKey != null ? userId + ":" + attemptId + ":" + idempotencyKey : null;
+        AnswersAcceptedDto previous = submissionKey != null ? submissions.getIfPresent(submissionKey) : null;
+        if (previous != null) {
+            return Mono.just(previous);
+        }
+
+        return findOpenAttempt(userId, attemptId)
+                .flatMap(attempt -> examService.findPublishedExam(attempt.getExamId())
+                        .map(exam -> accept(attempt, exam, submissionKey, answers)));
+    }
+
+    private AnswersAcceptedDto accept(ExamAttempt attempt, ExamSnapshot exam, String submissionKey,
+                                      List<AnswerRequestDto> answers) {
+        UUID attemptId = attempt.getId();
+        LocalDateTime acceptedAt = now();
+        if (acceptedAt.isAfter(deadline(attempt, exam))) {
+            throw new AttemptNotInProgressException("Attempt '" + attemptId + "' is past its time limit");
+        }
+        if (!answerBuffer.add(attemptId, toAnswers(exam, attemptId, answers, acceptedAt))) {
+            throw new AnswersUnavailableException("Too many answers waiting to be saved, retry shortly");
+        }
+        AnswersAcceptedDto accepted = new AnswersAcceptedDto(attemptId, answers.size(), acceptedAt);
+        if (submissionKey != null) {
+            submissions.put(submissionKey, accepted);
+        }
+        return accepted;
+    }
+
+    /**
+     * Finishes the attempt after writing its buffered answers and {@code finalAnswers}. Finishing an
+     * attempt that is already finished returns it unchanged. An attempt finished after its deadline is
+     * finished as of the deadline, so final answers given later do not count.
+     */
+    public Mono<ExamAttempt> finish(UUID userId, UUID attemptId, List<AnswerRequestDto> finalAnswers) {
+        return findAttempt(userId, attemptId)
+                .flatMap(attempt -> {
+                    if (attempt.getStatus() != AttemptStatus.IN_PROGRESS) {
+                        return Mono.just(attempt);
+                    }
+                    return examService.findPublishedExam(attempt.getExamId())
+                            .flatMap(exam -> answerBuffer.flush(attemptId,
+                                            toAnswers(exam, attemptId, finalAnswers, now()))
+                                    .then(Mono.defer(() -> examAttemptRepository.finish(attemptId, userId,
+                                            earliest(now(), deadline(attempt, exam))))))
+                            .switchIfEmpty(Mono.defer(() -> examAttemptRepository.findById(attemptId)))
+                            .doOnNext(finished -> openAttempts.invalidate(attemptId));
+                });
+    }
+
+    /**
+     * Finishes attempts whose deadline passed more than {@code expiryGrace} ago, as of their deadline.
+     * Answers are rejected from the deadline on, so the grace only has to cover the flush of answers
+     * buffered on other nodes before it.
+     */
+    @Scheduled(fixedDelayString = "${attempt-answers.expiry-sweep-interval:PT30S}")
+    public void finishExpired() {
+        List<UUID> finished = examAttemptRepository.finishExpired(now().minus(expiryGrace))
+                .collectList()
+                .block();
+        finished.forEach(openAttempts::invalidate);
+        if (!finished.isEmpty()) {
+            log.info("Finished {} attempts past their time limit", finished.size());
+        }
+    }
+
+    /**
+     * Forgets the cached open attempt, called when any node finishes it.
+     */
+    public void evictOpenAttempt(UUID attemptId) {
+        openAttempts.invalidate(attemptId);
+    }
+
+    /**
+     * Forgets every cached open attempt, e.g. after finish notifications may have been missed.
+     */
+    public void evictOpenAttempts() {
+        openAttempts.invalidateAll();
+    }
+
+    private static LocalDateTime deadline(ExamAttempt attempt, ExamSnapshot exam) {
+        return attempt.getStartedAt().plusMinutes(exam.durationMinutes());
+    }
+
+    private static LocalDateTime earliest(LocalDateTime first, LocalDateTime second) {
+        return first.isBefore(second) ? first : second;
+    }
+
+    private Mono<ExamAttempt> findAttempt(UUID userId, UUID attemptId) {
+        return examAttemptRepository.findByIdAndUserId(attemptId, userId)
+                .switchIfEmpty(Mono.error(() -> new AttemptNotFoundException("Attempt '" + attemptId + "' not found")));
+    }
+
+    /**
+     * The user's attempt if it is still open, served from a short-lived cache.
+     */
+    public Mono<ExamAttempt> findOpenAttempt(UUID userId, UUID attemptId) {
+        ExamAttempt cached = openAttempts.getIfPresent(attemptId);
+        Mono<ExamAttempt> attempt = cached != null
+                ? Mono.just(cached)
+                : findAttempt(userId, attemptId).doOnNext(loaded -> {
+                    if (loaded.getStatus() == AttemptStatus.IN_PROGRESS) {
+                        openAttempts.put(attemptId, loaded);
+                    }
+                });
+        return attempt.handle((loaded, sink) -> {
+            if (!loaded.getUserId().equals(userId)) {
+                sink.error(new AttemptNotFoundException("Attempt '" + attemptId + "' not found"));
+            } else if (loaded.getStatus() != AttemptStatus.IN_PROGRESS) {
+                sink.error(new AttemptNotInProgressException("Attempt '" + attemptId + "' is already finished"));
+            } else {
+                sink.next(loaded);
+            }
+        });
+    }
+
+    private static List<AttemptAnswer> toAnswers(ExamSnapshot exam, UUID attemptId, List<AnswerRequestDto> answers,
+                                                 LocalDateTime answeredAt) {
+        return answers.stream()
+                .map(answer -> {
+                    int index = exam.indexOf(answer.questionId());
+                    if (index < 0) {
+                        throw new InvalidAnswerException("Question '" + answer.questionId() + "' is not part of this exam");
+                    }
+                    if (answer.choice() >= exam.choices(index).size()) {
+                        throw new InvalidAnswerException("Question '" + answer.questionId() + "' has no choice "
+                                + answer.choice());
+                    }
+                    return new AttemptAnswer(attemptId, answer.questionId(), answer.choice(), answeredAt);
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.lms.examready.service;
+
+import com.lms.examready.dto.response.AnnouncementEventDto;
+import com.lms.examready.dto.response.ExamUpdatedEventDto;
+import com.lms.examready.dto.response.TimerEventDto;
+import com.lms.examready.live.ExamEvent;
+import com.lms.examready.live.ExamEventHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ExamEventService {
+
+    public static final String TIMER = "timer";
+    public static final String TIME_UP = "time-up";
+    public static final String ANNOUNCEMENT = "announcement";
+    public static final String EXAM_UPDATED = "exam-updated";
+
+    private final ExamAttemptService examAttemptService;
+    private final ExamService examService;
+    private final ExamEventHub examEventHub;
+
+    /**
+     * Live events of an open attempt: the remaining time right away and on every tick, announcements and
+     * exam updates as they happen. The stream completes when the time is up.
+     */
+    public Flux<ServerSentEvent<Object>> streamForAttempt(UUID userId, UUID attemptId) {
+        return examAttemptService.findOpenAttempt(userId, attemptId)
+                .flatMapMany(attempt -> examService.findPublishedExam(attempt.getExamId())
+                        .flatMapMany(exam -> {
+                            LocalDateTime deadline = attempt.getStartedAt().plusMinutes(exam.durationMinutes());
+                            return examEventHub.subscribe(exam.examId())
+                                    .startWith(ExamEvent.tick(LocalDateTime.now()))
+                                    .map(event -> toServerSentEvent(event, deadline))
+                                    .takeUntil(event -> TIME_UP.equals(event.event()));
+                        }));
+    }
+
+    public Mono<Void> announce(UUID examId, String message) {
+        return examService.findPublishedExam(examId)
+                .then(examEventHub.announce(examId, message));
+    }
+
+    private static ServerSentEvent<Object> toServerSentEvent(ExamEvent event, LocalDateTime deadline) {
+        return switch (event.type()) {
+            case TICK -> {
+                long remainingSeconds = Math.max(0, Duration.between(event.at(), deadline).toSeconds());
+                yield ServerSentEvent.builder((Object) new TimerEventDto(remainingSeconds, event.at()))
+                        .event(remainingSeconds > 0 ? TIMER : TIME_UP)
+                        .build();
+            }
+            case ANNOUNCEMENT -> ServerSentEvent.builder((Object) new AnnouncementEventDto(event.message(), event.at()))
+                    .event(ANNOUNCEMENT)
+                    .build();
+            case UPDATED -> ServerSentEvent.builder((Object) new ExamUpdatedEventDto(event.contentVersion()))
+                    .event(EXAM_UPDATED)
+                    .build();
+        };
+    }
+}
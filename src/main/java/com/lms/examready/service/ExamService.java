@@ -0,0 +1,36 @@
+package com.lms.examready.service;
+
+import com.lms.examready.cache.ExamContentCache;
+import com.lms.examready.cache.ExamSnapshot;
+import com.lms.examready.dto.response.QuestionResponseDto;
+import com.lms.examready.exception.ExamNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class ExamService {
+
+    private final ExamContentCache examContentCache;
+
+    public Mono<ExamSnapshot> findPublishedExam(UUID examId) {
+        return examContentCache.get(examId)
+                .switchIfEmpty(Mono.error(() -> new ExamNotFoundException("Exam '" + examId + "' not found")));
+    }
+
+    /**
+     * Streams the questions after {@code afterPosition} in order from the exam's cached snapshot.
+     */
+    public Flux<QuestionResponseDto> streamQuestions(UUID examId, int afterPosition) {
+        return findPublishedExam(examId)
+                .flatMapMany(snapshot -> {
+                    int from = snapshot.indexAfter(afterPosition);
+                    return Flux.range(from, snapshot.size() - from)
+                            .map(index -> QuestionResponseDto.from(snapshot, index));
+                });
+    }
+}
@@ -0,0 +1,118 @@
+package com.lms.examready.service;
+
+import com.lms.examready.model.RefreshToken;
+import com.lms.examready.repository.RefreshTokenRepository;
+import com.lms.examready.security.TokenDigest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+import static java.time.LocalDateTime.now;
+
+/**
+ * Opaque refresh tokens. Only the SHA-256 digest is stored; every token is single use and is
+ * exchanged for a new one of the same family. Presenting an already used token revokes the whole
+ * family, since either the legitimate client or an attacker is holding a stolen copy.
+ */
+@Service
+@Slf4j
+public class RefreshTokenService {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration ttl;
+    private final int purgeBatchSize;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               @Value("${refresh-token.ttl:14d}") Duration ttl,
+                               @Value("${refresh-token.purge-batch-size:1000}") int purgeBatchSize) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = ttl;
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    public Mono<String> issue(UUID userId) {
+        return issue(userId, UUID.randomUUID());
+    }
+
+    /**
+     * Consumes the presented token and issues its successor. Fails with {@link BadCredentialsException}
+     * when the token is unknown, expired, revoked or being reused.
+     */
+    public Mono<Rotation> rotate(String rawToken) {
+        String tokenHash = TokenDigest.sha256Hex(rawToken);
+        return refreshTokenRepository.consume(tokenHash, now())
+                .flatMap(consumed -> issue(consumed.getUserId(), consumed.getFamilyId())
+                        .map(successor -> new Rotation(consumed.getUserId(), successor)))
+                .switchIfEmpty(Mono.defer(() -> reject(tokenHash)));
+    }
+
+    /**
+     * Revokes every token issued from the same sign-in as {@code rawToken}, provided it belongs to {@code userId}.
+     */
+    public Mono<Void> revoke(String rawToken, UUID userId) {
+        return refreshTokenRepository.findByTokenHash(TokenDigest.sha256Hex(rawToken))
+                .filter(token -> token.getUserId().equals(userId))
+                .flatMap(token -> refreshTokenRepository.revokeFamily(token.getFamilyId(), now()))
+                .then();
+    }
+
+    @Scheduled(fixedDelayString = "${refresh-token.purge-interval:PT1H}", initialDelayString = "${refresh-token.purge-interval:PT1H}")
+    public void purgeExpired() {
+        LocalDateTime cutoff = now();
+        Long purged = refreshTokenRepository.deleteExpired(cutoff, purgeBatchSize)
+                .expand(deleted -> deleted == purgeBatchSize
+                        ? refreshTokenRepository.deleteExpired(cutoff, purgeBatchSize)
+                        : Mono.empty())
+                .reduce(0L, Long::sum)
+                .block();
+        if (purged != null && purged > 0) {
+            log.info("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private Mono<String> issue(UUID userId, UUID familyId) {
+        String rawToken = newRawToken();
+        LocalDateTime now = now();
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setUserId(userId);
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setTokenHash(TokenDigest.sha256Hex(rawToken));
+        refreshToken.setCreatedAt(now);
+        refreshToken.setExpiresAt(now.plus(ttl));
+
+        return refreshTokenRepository.save(refreshToken).thenReturn(rawToken);
+    }
+
+    private Mono<Rotation> reject(String tokenHash) {
+        return refreshTokenRepository.findByTokenHash(tokenHash)
+                .filter(token -> token.getUsedAt() != null && token.getRevokedAt() == null)
+                .flatMap(reused -> {
+                    log.warn("Refresh token reuse detected for user {}, revoking family {}",
+                            reused.getUserId(), reused.getFamilyId());
+                    return refreshTokenRepository.revokeFamily(reused.getFamilyId(), now());
+                })
+                .then(Mono.error(new BadCredentialsException("Invalid refresh token")));
+    }
+
+    private String newRawToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    public record Rotation(UUID userId, String refreshToken) {
+    }
+}
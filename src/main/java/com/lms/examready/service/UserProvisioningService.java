@@ -0,0 +1,156 @@
+package com.lms.examready.service;
+
+import com.lms.examready.dto.request.SignUpRequestDto;
+import com.lms.examready.dto.response.UserImportResultDto;
+import com.lms.examready.exception.PasswordHashingUnavailableException;
+import com.lms.examready.model.User;
+import com.lms.examready.repository.UserRepository;
+import com.lms.examready.security.PasswordHasher;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static com.lms.examready.dto.response.UserImportResultDto.Status.*;
+import static com.lms.examready.model.Role.USER;
+import static java.time.LocalDateTime.now;
+
+/**
+ * Bulk user import. Rows are validated, hashed in parallel on the password hashing pool and written
+ * in multi-row batches, with demand propagated from the database writes back to the request body.
+ */
+@Service
+@Slf4j
+public class UserProvisioningService {
+
+    private static final String CSV_HEADER = "username,password,email";
+
+    private final UserRepository userRepository;
+    private final PasswordHasher passwordHasher;
+    private final Validator validator;
+    private final int batchSize;
+
+    public UserProvisioningService(UserRepository userRepository,
+                                   PasswordHasher passwordHasher,
+                                   Validator validator,
+                                   @Value("${user-import.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.passwordHasher = passwordHasher;
+        this.validator = validator;
+        this.batchSize = batchSize;
+    }
+
+    public Flux<UserImportResultDto> importUsers(Flux<SignUpRequestDto> rows) {
+        return rows.index()
+                .flatMapSequential(row -> prepare(row.getT1() + 1, row.getT2()), passwordHasher.parallelism())
+                .buffer(batchSize)
+                .concatMap(this::insertBatch);
+    }
+
+    public Flux<UserImportResultDto> importCsv(Flux<String> lines) {
+        return importUsers(lines
+                .filter(line -> !line.isBlank())
+                .filter(line -> !CSV_HEADER.equalsIgnoreCase(line.replace(" ", "")))
+                .map(UserProvisioningService::parseCsvLine));
+    }
+
+    /**
+     * Splits {@code username,password,email}. Usernames and emails cannot contain commas but
+     * passwords may, so the password is everything between the first and the last comma.
+     */
+    static SignUpRequestDto parseCsvLine(String line) {
+        int first = line.indexOf(',');
+        int last = line.lastIndexOf(',');
+        if (first < 0 || first == last) {
+            return new SignUpRequestDto(first < 0 ? line.trim() : line.substring(0, first).trim(), null, null);
+        }
+        return new SignUpRequestDto(line.substring(0, first).trim(), line.substring(first + 1, last),
+                line.substring(last + 1).trim());
+    }
+
+    private Mono<ImportRow> prepare(long row, SignUpRequestDto dto) {
+        Set<ConstraintViolation<SignUpRequestDto>> violations = validator.validate(dto);
+        if (!violations.isEmpty()) {
+            String message = violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining("; "));
+            return Mono.just(ImportRow.rejected(new UserImportResultDto(row, dto.username(), INVALID, message)));
+        }
+
+        return passwordHasher.encode(dto.password())
+                .retryWhen(Retry.backoff(3, Duration.ofMillis(100))
+                        .filter(PasswordHashingUnavailableException.class::isInstance))
+                .map(encodedPassword -> ImportRow.accepted(row, newUser(dto, encodedPassword)))
+                .onErrorResume(e -> Mono.just(ImportRow.rejected(
+                        new UserImportResultDto(row, dto.username(), FAILED, "Password could not be hashed"))));
+    }
+
+    private Flux<UserImportResultDto> insertBatch(List<ImportRow> batch) {
+        Map<String, User> candidates = new LinkedHashMap<>();
+        Set<ImportRow> duplicates = new HashSet<>();
+        for (ImportRow importRow : batch) {
+            if (importRow.user() != null && candidates.putIfAbsent(importRow.user().getUsername(), importRow.user()) != null) {
+                duplicates.add(importRow);
+            }
+        }
+
+        return userRepository.insertAllIfAbsent(new ArrayList<>(candidates.values()))
+                .collect(Collectors.toSet())
+                .flatMapIterable(created -> batch.stream()
+                        .map(importRow -> importRow.result(created, duplicates.contains(importRow)))
+                        .toList())
+                .onErrorResume(e -> {
+                    log.error("User import batch failed", e);
+                    return Flux.fromIterable(batch)
+                            .map(importRow -> importRow.rejected() != null
+                                    ? importRow.rejected()
+                                    : new UserImportResultDto(importRow.row(), importRow.user().getUsername(), FAILED,
+                                    "Batch could not be written"));
+                });
+    }
+
+    private static User newUser(SignUpRequestDto dto, String encodedPassword) {
+        LocalDateTime now = now();
+        User user = new User();
+        user.setUsername(dto.username());
+        user.setEmail(dto.email());
+        user.setPassword(encodedPassword);
+        user.setRole(USER);
+        user.setEnabled(true);
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+        return user;
+    }
+
+    private record ImportRow(long row, User user, UserImportResultDto rejected) {
+
+        static ImportRow accepted(long row, User user) {
+            return new ImportRow(row, user, null);
+        }
+
+        static ImportRow rejected(UserImportResultDto result) {
+            return new ImportRow(result.row(), null, result);
+        }
+
+        UserImportResultDto result(Set<String> created, boolean duplicateInBatch) {
+            if (rejected != null) {
+                return rejected;
+            }
+            String username = user.getUsername();
+            if (!duplicateInBatch && created.contains(username)) {
+                return new UserImportResultDto(row, username, CREATED, null);
+            }
+            return new UserImportResultDto(row, username, CONFLICT, "Username or email already exists");
+        }
+    }
+}
@@ -1,13 +1,18 @@
 package com.lms.examready.service;
 
+import com.lms.examready.cache.RequestCoalescer;
+import com.lms.examready.cache.UserCache;
 import com.lms.examready.dto.request.SignUpRequestDto;
+import com.lms.examready.metrics.AuthenticationMetrics;
 import com.lms.examready.model.User;
 import com.lms.examready.repository.UserRepository;
+import com.lms.examready.security.PasswordHasher;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 import static com.lms.examready.model.Role.USER;
@@ -19,22 +24,61 @@ public class UserService
 
 {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UserCache userCache;
+    private final RequestCoalescer<String, User> usernameLookupCoalescer;
+    private final AuthenticationMetrics authenticationMetrics;
 
     public Mono<User> findByUsername(String username) {
-        return userRepository.findByUsername(username);
+        return authenticationMetrics.timeUserLookup(userCache.getByUsername(username)
+                .switchIfEmpty(usernameLookupCoalescer.execute(username, this::loadByUsername)));
     }
 
+    private Mono<User> loadByUsername(String username) {
+        Instant loadedAt = Instant.now();
+        return userRepository.findByUsername(username)
+                .flatMap(user -> userCache.put(user, loadedAt).thenReturn(user));
+    }
+
+    public Mono<User> findById(UUID id) {
+        return userCache.getById(id)
+                .switchIfEmpty(Mono.defer(() -> {
+                    Instant loadedAt = Instant.now();
+                    return userRepository.findById(id)
+                            .flatMap(user -> userCache.put(user, loadedAt).thenReturn(user));
+                }));
+    }
+
+    public Mono<Boolean> existsByUsername(String username) {
+        return userRepository.existsByUsername(username);
+    }
+
+    /**
+     * Creates a new user. Completes empty when the username or email is already taken.
+     */
     public Mono<User> saveUser(SignUpRequestDto dto) {
-            User user = new User();
-            user.setUsername(dto.username());
-            user.setEmail(dto.email());
-            user.setPassword(passwordEncoder.encode(dto.password()));
-            user.setRole(USER);
-            user.setEnabled(true);
-            user.setCreatedAt(now());
-            user.setUpdatedAt(now());
-
-        return userRepository.save(user);
+        return passwordHasher.encode(dto.password())
+                .flatMap(encodedPassword -> {
+                    LocalDateTime now = now();
+                    return userRepository.insertIfAbsent(dto.username(), encodedPassword, dto.email(),
+                            USER.name(), true, now, now);
+                })
+                .flatMap(user -> userCache.invalidate(user).thenReturn(user));
+    }
+
+    /**
+     * Replaces the stored hash with one using the current encoder settings. Completes empty without
+     * writing if the password was changed in the meantime or the rehash pool is busy.
+     */
+    public Mono<User> rehashPassword(User user, CharSequence rawPassword) {
+        return passwordHasher.rehash(rawPassword)
+                .flatMap(encodedPassword -> userRepository.updatePasswordIfUnchanged(user.getId(), user.getPassword(),
+                        encodedPassword, now()))
+                .flatMap(updated -> userCache.invalidate(updated).thenReturn(updated));
+    }
+
+    public Mono<User> setEnabled(UUID id, boolean enabled) {
+        return userRepository.updateEnabled(id, enabled, now())
+                .flatMap(user -> userCache.invalidate(user).thenReturn(user));
     }
 }
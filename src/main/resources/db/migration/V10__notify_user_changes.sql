@@ -0,0 +1,16 @@
+-- Every change to a user row is announced on the user_changed channel as '<user id>:<old username>', so
+-- each application instance drops its cached copy rather than serving it until the cache TTL. The old
+-- username is sent because the cache is also keyed by it, and a rename must evict the old key.
+CREATE FUNCTION notify_user_changed() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('user_changed', OLD.id::text || ':' || OLD.username);
+    IF TG_OP = 'DELETE' THEN
+        RETURN OLD;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_users_notify
+    AFTER UPDATE OR DELETE ON users
+    FOR EACH ROW EXECUTE FUNCTION notify_user_changed();
@@ -0,0 +1,16 @@
+-- Finishing an attempt, on any instance or by the expiry sweep, is announced on the attempt_finished channel
+-- as '<attempt id>:<status>', so every instance stops accepting autosaves for it from its cached copy.
+CREATE FUNCTION notify_attempt_finished() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('attempt_finished', NEW.id::text || ':' || NEW.status);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_exam_attempts_finished
+    AFTER UPDATE OF status ON exam_attempts
+    FOR EACH ROW WHEN (OLD.status = 'IN_PROGRESS' AND NEW.status <> 'IN_PROGRESS')
+    EXECUTE FUNCTION notify_attempt_finished();
+
+-- The expiry sweep looks for open attempts only.
+CREATE INDEX idx_exam_attempts_in_progress ON exam_attempts (started_at) WHERE status = 'IN_PROGRESS';
@@ -0,0 +1,16 @@
+CREATE TABLE auth_events (
+    id BIGSERIAL,
+    occurred_at TIMESTAMP NOT NULL,
+    event_type VARCHAR(32) NOT NULL,
+    user_id UUID,
+    username VARCHAR(255),
+    detail VARCHAR(255),
+    PRIMARY KEY (id, occurred_at)
+) PARTITION BY RANGE (occurred_at);
+
+-- Monthly partitions are created ahead of time by AuthEventPartitionMaintainer;
+-- the default partition only catches rows if that job has fallen behind.
+CREATE TABLE auth_events_default PARTITION OF auth_events DEFAULT;
+
+CREATE INDEX ix_auth_events_user_id_occurred_at ON auth_events (user_id, occurred_at);
+CREATE INDEX ix_auth_events_username_occurred_at ON auth_events (username, occurred_at);
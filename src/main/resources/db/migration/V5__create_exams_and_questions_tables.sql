@@ -0,0 +1,28 @@
+CREATE TABLE exams (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    title VARCHAR(255) NOT NULL,
+    description TEXT,
+    duration_minutes INTEGER NOT NULL,
+    published BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    CONSTRAINT chk_duration_minutes CHECK (duration_minutes > 0)
+);
+
+CREATE TABLE questions (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    exam_id UUID NOT NULL,
+    position INTEGER NOT NULL,
+    prompt TEXT NOT NULL,
+    choices TEXT[] NOT NULL,
+    correct_choice SMALLINT NOT NULL,
+    points SMALLINT NOT NULL DEFAULT 1,
+    CONSTRAINT fk_questions_exam FOREIGN KEY (exam_id) REFERENCES exams (id) ON DELETE CASCADE,
+    CONSTRAINT chk_position CHECK (position > 0),
+    CONSTRAINT chk_correct_choice CHECK (correct_choice >= 0 AND correct_choice < cardinality(choices))
+);
+
+-- Keyset index for paging through an exam in question order. The small columns needed for scoring
+-- are included so answer keys are read with index-only scans; prompt and choices are left out
+-- because unbounded text would push entries past the btree row size limit.
+CREATE UNIQUE INDEX uk_questions_exam_position ON questions (exam_id, position) INCLUDE (id, correct_choice, points);
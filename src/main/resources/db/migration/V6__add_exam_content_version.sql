@@ -0,0 +1,68 @@
+-- Bumped whenever anything a candidate sees changes. Every bump is announced on the exam_content channel
+-- as '<exam id>:<new version>' so application instances can rebuild their cached copy of the exam.
+ALTER TABLE exams ADD COLUMN content_version BIGINT NOT NULL DEFAULT 1;
+
+CREATE FUNCTION bump_exam_content_version() RETURNS trigger AS $$
+BEGIN
+    IF ROW(NEW.title, NEW.description, NEW.duration_minutes, NEW.published)
+            IS DISTINCT FROM ROW(OLD.title, OLD.description, OLD.duration_minutes, OLD.published) THEN
+        NEW.content_version := OLD.content_version + 1;
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_exams_content_version
+    BEFORE UPDATE ON exams
+    FOR EACH ROW EXECUTE FUNCTION bump_exam_content_version();
+
+-- NOTIFY is only delivered once the transaction commits, so a listener reading the exam after the
+-- notification always sees at least the announced version.
+CREATE FUNCTION notify_exam_content_changed() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('exam_content', OLD.id::text || ':' || (OLD.content_version + 1)::text);
+        RETURN OLD;
+    END IF;
+    IF NEW.content_version <> OLD.content_version THEN
+        PERFORM pg_notify('exam_content', NEW.id::text || ':' || NEW.content_version::text);
+    END IF;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_exams_content_notify
+    AFTER UPDATE OR DELETE ON exams
+    FOR EACH ROW EXECUTE FUNCTION notify_exam_content_changed();
+
+-- Statement level, so importing a few hundred questions bumps the exam once rather than once per row.
+CREATE FUNCTION touch_exams_of_changed_questions() RETURNS trigger AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE exams SET content_version = content_version + 1
+        WHERE id IN (SELECT exam_id FROM new_questions);
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE exams SET content_version = content_version + 1
+        WHERE id IN (SELECT exam_id FROM old_questions);
+    ELSE
+        UPDATE exams SET content_version = content_version + 1
+        WHERE id IN (SELECT exam_id FROM new_questions UNION SELECT exam_id FROM old_questions);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_questions_inserted
+    AFTER INSERT ON questions
+    REFERENCING NEW TABLE AS new_questions
+    FOR EACH STATEMENT EXECUTE FUNCTION touch_exams_of_changed_questions();
+
+CREATE TRIGGER trg_questions_updated
+    AFTER UPDATE ON questions
+    REFERENCING OLD TABLE AS old_questions NEW TABLE AS new_questions
+    FOR EACH STATEMENT EXECUTE FUNCTION touch_exams_of_changed_questions();
+
+CREATE TRIGGER trg_questions_deleted
+    AFTER DELETE ON questions
+    REFERENCING OLD TABLE AS old_questions
+    FOR EACH STATEMENT EXECUTE FUNCTION touch_exams_of_changed_questions();
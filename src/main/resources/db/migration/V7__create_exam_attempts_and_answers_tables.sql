@@ -0,0 +1,25 @@
+CREATE TABLE exam_attempts (
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    exam_id UUID NOT NULL,
+    user_id UUID NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    started_at TIMESTAMP NOT NULL,
+    finished_at TIMESTAMP,
+    CONSTRAINT fk_exam_attempts_exam FOREIGN KEY (exam_id) REFERENCES exams (id) ON DELETE CASCADE,
+    CONSTRAINT fk_exam_attempts_user FOREIGN KEY (user_id) REFERENCES users (id) ON DELETE CASCADE
+);
+
+-- A candidate has at most one open attempt per exam, so a retried start returns the same attempt.
+CREATE UNIQUE INDEX uk_exam_attempts_open ON exam_attempts (exam_id, user_id) WHERE status = 'IN_PROGRESS';
+CREATE INDEX idx_exam_attempts_user_id ON exam_attempts (user_id);
+
+-- One row per attempt and question holding the latest choice; autosaves overwrite it in place.
+CREATE TABLE attempt_answers (
+    attempt_id UUID NOT NULL,
+    question_id UUID NOT NULL,
+    choice SMALLINT NOT NULL,
+    answered_at TIMESTAMP NOT NULL,
+    CONSTRAINT pk_attempt_answers PRIMARY KEY (attempt_id, question_id),
+    CONSTRAINT fk_attempt_answers_attempt FOREIGN KEY (attempt_id) REFERENCES exam_attempts (id) ON DELETE CASCADE,
+    CONSTRAINT fk_attempt_answers_question FOREIGN KEY (question_id) REFERENCES questions (id) ON DELETE CASCADE
+);
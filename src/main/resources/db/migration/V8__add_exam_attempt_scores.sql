@@ -0,0 +1,9 @@
+ALTER TABLE exam_attempts
+    ADD COLUMN score INTEGER,
+    ADD COLUMN max_score INTEGER,
+    ADD COLUMN scored_at TIMESTAMP;
+
+-- Work queue of the scoring engine: only attempts waiting to be scored are indexed, so the index shrinks
+-- as a run progresses and a restarted run picks up exactly what is left.
+CREATE INDEX idx_exam_attempts_to_score ON exam_attempts (id) INCLUDE (exam_id, finished_at)
+    WHERE status = 'FINISHED';
@@ -0,0 +1,4 @@
+-- Leaderboards: best score per candidate of one exam, and the incremental feed of new results.
+CREATE INDEX idx_exam_attempts_scored ON exam_attempts (exam_id, user_id) INCLUDE (score, max_score)
+    WHERE status = 'SCORED';
+CREATE INDEX idx_exam_attempts_scored_at ON exam_attempts (scored_at) WHERE status = 'SCORED';
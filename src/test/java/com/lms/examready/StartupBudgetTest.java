@@ -0,0 +1,95 @@
+package com.lms.examready;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.actuate.startup.StartupEndpoint;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the application in the {@code fast-startup} profile and fails if it takes longer than
+ * {@code -Pstartup.budget} (default 15s, including migrating an empty database). The slowest startup
+ * steps, as served by {@code /actuator/startup}, are written to {@code build/reports/startup}.
+ */
+@Testcontainers
+class StartupBudgetTest {
+
+    private static final Duration BUDGET = Duration.parse(System.getProperty("startup.budget", "PT15S"));
+    private static final Path REPORT = Path.of("build", "reports", "startup", "startup-steps.txt");
+    private static final int REPORTED_STEPS = 30;
+
+    @Container
+    @SuppressWarnings("resource")
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:17.4")
+            .withDatabaseName("examready")
+            .withUsername("examready_user")
+            .withPassword("examready_pass")
+            .withReuse(true);
+
+    /**
+     * Tests that startup to a ready application stays within the budget.
+     */
+    @Test
+    void testStartupWithinBudget() throws IOException {
+        SpringApplication application = ExamReadyApplication.application();
+        String r2dbcUrl = "r2dbc:postgresql://" + postgres.getHost() + ":"
+                + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgres.getDatabaseName();
+
+        try (ConfigurableApplicationContext context = application.run(
+                "--spring.profiles.active=test,fast-startup",
+                "--server.port=0",
+                "--spring.r2dbc.url=" + r2dbcUrl,
+                "--spring.r2dbc.username=" + postgres.getUsername(),
+                "--spring.r2dbc.password=" + postgres.getPassword(),
+                "--spring.flyway.url=" + postgres.getJdbcUrl(),
+                "--spring.flyway.user=" + postgres.getUsername(),
+                "--spring.flyway.password=" + postgres.getPassword())) {
+            assertNotNull(context.getBean(StartupEndpoint.class));
+
+            StartupTimeline timeline = ((BufferingApplicationStartup) application.getApplicationStartup())
+                    .getBufferedTimeline();
+            Instant ready = timeline.getEvents().stream()
+                    .map(StartupTimeline.TimelineEvent::getEndTime)
+                    .max(Comparator.naturalOrder())
+                    .orElseThrow();
+            Duration startup = Duration.between(timeline.getStartTime(), ready);
+            writeReport(startup, timeline);
+
+            assertTrue(startup.compareTo(BUDGET) <= 0,
+                    "Startup took " + startup.toMillis() + "ms, budget is " + BUDGET.toMillis() + "ms, see " + REPORT);
+        }
+    }
+
+    private static void writeReport(Duration startup, StartupTimeline timeline) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("startup " + startup.toMillis() + "ms (budget " + BUDGET.toMillis() + "ms)");
+        timeline.getEvents().stream()
+                .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                .limit(REPORTED_STEPS)
+                .forEach(event -> {
+                    StringBuilder line = new StringBuilder()
+                            .append(String.format("%8dms  %s", event.getDuration().toMillis(), event.getStartupStep().getName()));
+                    event.getStartupStep().getTags()
+                            .forEach(tag -> line.append(' ').append(tag.getKey()).append('=').append(tag.getValue()));
+                    lines.add(line.toString());
+                });
+        Files.createDirectories(REPORT.getParent());
+        Files.write(REPORT, lines);
+    }
+}
@@ -0,0 +1,126 @@
+package com.lms.examready.attempt;
+
+import com.lms.examready.repository.AttemptAnswerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AnswerBufferTest {
+
+    private static final UUID ATTEMPT_ID = UUID.randomUUID();
+    private static final UUID QUESTION_ID = UUID.randomUUID();
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AttemptAnswerRepository attemptAnswerRepository = mock(AttemptAnswerRepository.class);
+
+    private final AnswerBuffer buffer = new AnswerBuffer(attemptAnswerRepository, meterRegistry, 100, 3,
+            Duration.ofSeconds(5));
+
+    private static AttemptAnswer answer(UUID questionId, int choice, long secondsAgo) {
+        return new AttemptAnswer(ATTEMPT_ID, questionId, (short) choice, NOW.minusSeconds(secondsAgo));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<AttemptAnswer> written() {
+        ArgumentCaptor<List<AttemptAnswer>> captor = ArgumentCaptor.forClass(List.class);
+        verify(attemptAnswerRepository).upsertAll(captor.capture());
+        return captor.getValue();
+    }
+
+    /**
+     * Tests that answering the same question again before the flush keeps only the latest answer, and
+     * that an answer older than the buffered one does not replace it.
+     */
+    @Test
+    void testOverwritesAreCoalesced() {
+        when(attemptAnswerRepository.upsertAll(anyList())).thenReturn(Mono.just(1L));
+
+        buffer.add(ATTEMPT_ID, List.of(answer(QUESTION_ID, 0, 10)));
+        buffer.add(ATTEMPT_ID, List.of(answer(QUESTION_ID, 2, 5)));
+        buffer.add(ATTEMPT_ID, List.of(answer(QUESTION_ID, 1, 20)));
+        assertEquals(1, buffer.buffered());
+
+        StepVerifier.create(buffer.flush()).expectNext(1L).verifyComplete();
+
+        assertEquals(List.of(answer(QUESTION_ID, 2, 5)), written());
+        assertEquals(0, buffer.buffered());
+        assertEquals(2, meterRegistry.get("exam.answers.coalesced").counter().count());
+    }
+
+    /**
+     * Tests that finishing writes the attempt's buffered answers merged with the final ones.
+     */
+    @Test
+    void testFlushAttemptMergesFinalAnswers() {
+        UUID otherQuestionId = UUID.randomUUID();
+        when(attemptAnswerRepository.upsertAll(anyList())).thenReturn(Mono.just(2L));
+
+        buffer.add(ATTEMPT_ID, List.of(answer(QUESTION_ID, 0, 10), answer(otherQuestionId, 1, 10)));
+
+        StepVerifier.create(buffer.flush(ATTEMPT_ID, List.of(answer(QUESTION_ID, 3, 0))))
+                .expectNext(2L)
+                .verifyComplete();
+
+        assertEquals(2, written().size());
+        assertTrue(written().contains(answer(QUESTION_ID, 3, 0)));
+        assertTrue(written().contains(answer(otherQuestionId, 1, 10)));
+    }
+
+    /**
+     * Tests that answers are rejected while the buffer is at capacity.
+     */
+    @Test
+    void testFullBufferRejectsAnswers() {
+        assertTrue(buffer.add(ATTEMPT_ID, List.of(answer(UUID.randomUUID(), 0, 0), answer(UUID.randomUUID(), 0, 0),
+                answer(UUID.randomUUID(), 0, 0))));
+
+        assertFalse(buffer.add(ATTEMPT_ID, List.of(answer(QUESTION_ID, 0, 0))));
+        assertEquals(3, buffer.buffered());
+    }
+
+    /**
+     * Tests that answers whose write failed are kept for the next flush.
+     */
+    @Test
+    void testFailedWriteIsRetried() {
+        when(attemptAnswerRepository.upsertAll(anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("connection lost")), Mono.just(1L));
+
+        buffer.add(ATTEMPT_ID, List.of(answer(QUESTION_ID, 0, 0)));
+
+        StepVerifier.create(buffer.flush()).expectNext(0L).verifyComplete();
+        assertEquals(1, buffer.buffered());
+
+        StepVerifier.create(buffer.flush()).expectNext(1L).verifyComplete();
+        assertEquals(0, buffer.buffered());
+        assertEquals(1, meterRegistry.get("exam.answers.written").counter().count());
+    }
+
+    /**
+     * Tests that answers the upsert skips, e.g. because their attempt finished on another node, are
+     * counted as rejected rather than as written.
+     */
+    @Test
+    void testSkippedRowsAreCountedAsRejected() {
+        when(attemptAnswerRepository.upsertAll(anyList())).thenReturn(Mono.just(1L));
+
+        buffer.add(ATTEMPT_ID, List.of(answer(QUESTION_ID, 0, 0), answer(UUID.randomUUID(), 1, 0)));
+
+        StepVerifier.create(buffer.flush()).expectNext(1L).verifyComplete();
+        assertEquals(1, meterRegistry.get("exam.answers.written").counter().count());
+        assertEquals(1, meterRegistry.get("exam.answers.rejected").counter().count());
+    }
+}
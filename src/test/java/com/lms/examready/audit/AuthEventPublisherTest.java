@@ -0,0 +1,163 @@
+package com.lms.examready.audit;
+
+import com.lms.examready.repository.AuthEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class AuthEventPublisherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AuthEventRepository authEventRepository = mock(AuthEventRepository.class);
+
+    private AuthEventPublisher publisher;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        publisher.stop();
+    }
+
+    private AuthEventPublisher publisher(int capacity, int batchSize, Duration flushInterval, OverflowPolicy policy) {
+        return new AuthEventPublisher(authEventRepository, meterRegistry, capacity, batchSize, flushInterval,
+                Duration.ofSeconds(5), policy, true);
+    }
+
+    private static AuthEvent event(String username) {
+        return AuthEvent.of(AuthEventType.SIGN_IN_FAILED, null, username, "UNKNOWN_USER");
+    }
+
+    private double dropped(String reason) {
+        return meterRegistry.get("auth.audit.dropped").tag("reason", reason).counter().count();
+    }
+
+    /**
+     * Tests that a full buffer discards new events under DROP_NEWEST and counts them.
+     */
+    @Test
+    void testDropNewest() {
+        publisher = publisher(2, 10, Duration.ofSeconds(1), OverflowPolicy.DROP_NEWEST);
+
+        assertTrue(publisher.publish(event("first")));
+        assertTrue(publisher.publish(event("second")));
+        assertFalse(publisher.publish(event("third")));
+
+        assertEquals(1, dropped("overflow"));
+    }
+
+    /**
+     * Tests that a full buffer evicts the oldest event under DROP_OLDEST, so the newest is kept.
+     */
+    @Test
+    void testDropOldest() {
+        when(authEventRepository.insertAll(anyList())).thenReturn(Mono.just(2L));
+        publisher = publisher(2, 10, Duration.ofMillis(50), OverflowPolicy.DROP_OLDEST);
+
+        publisher.publish(event("first"));
+        publisher.publish(event("second"));
+        assertTrue(publisher.publish(event("third")));
+        publisher.start();
+
+        List<AuthEvent> written = captureWrites(1).get(0);
+        assertEquals(List.of("second", "third"), written.stream().map(AuthEvent::username).toList());
+        assertEquals(1, dropped("overflow"));
+    }
+
+    /**
+     * Tests that a full batch is written without waiting for the flush interval.
+     */
+    @Test
+    void testFlushesBySize() {
+        when(authEventRepository.insertAll(anyList())).thenReturn(Mono.just(3L));
+        publisher = publisher(100, 3, Duration.ofMinutes(1), OverflowPolicy.DROP_NEWEST);
+        publisher.start();
+
+        publisher.publish(event("a"));
+        publisher.publish(event("b"));
+        publisher.publish(event("c"));
+
+        assertEquals(3, captureWrites(1).get(0).size());
+    }
+
+    /**
+     * Tests that a partial batch is written once the flush interval has passed.
+     */
+    @Test
+    void testFlushesByTime() throws InterruptedException {
+        when(authEventRepository.insertAll(anyList())).thenReturn(Mono.just(1L));
+        publisher = publisher(100, 500, Duration.ofMillis(50), OverflowPolicy.DROP_NEWEST);
+        publisher.start();
+
+        publisher.publish(event("lonely"));
+
+        assertEquals(1, captureWrites(1).get(0).size());
+        publisher.stop();
+        assertEquals(1, meterRegistry.get("auth.audit.lag").timer().count());
+    }
+
+    /**
+     * Tests that a failed write drops the batch, is counted, and does not stop the writer.
+     */
+    @Test
+    void testWriteFailureIsCountedAndWriterContinues() throws InterruptedException {
+        when(authEventRepository.insertAll(anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("database unavailable")), Mono.just(1L));
+        publisher = publisher(100, 1, Duration.ofMillis(50), OverflowPolicy.DROP_NEWEST);
+        publisher.start();
+
+        publisher.publish(event("lost"));
+        publisher.publish(event("kept"));
+
+        captureWrites(2);
+        publisher.stop();
+        assertEquals(1, dropped("write-failed"));
+        assertEquals(1, meterRegistry.get("auth.audit.written").counter().count());
+    }
+
+    /**
+     * Tests that stopping writes the events that are still buffered.
+     */
+    @Test
+    void testStopDrainsBuffer() throws InterruptedException {
+        when(authEventRepository.insertAll(anyList())).thenReturn(Mono.just(2L));
+        publisher = publisher(100, 500, Duration.ofMinutes(1), OverflowPolicy.DROP_NEWEST);
+        publisher.start();
+
+        publisher.publish(event("a"));
+        publisher.publish(event("b"));
+        publisher.stop();
+
+        verify(authEventRepository, atLeastOnce()).insertAll(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<AuthEvent>> captureWrites(int times) {
+        ArgumentCaptor<List<AuthEvent>> batches = ArgumentCaptor.forClass(List.class);
+        verify(authEventRepository, timeout(2_000).times(times)).insertAll(batches.capture());
+        return batches.getAllValues();
+    }
+
+    /**
+     * Tests that a disabled publisher, as used by the migrate profile, starts no writer and discards events.
+     */
+    @Test
+    void testDisabledPublisherWritesNothing() throws InterruptedException {
+        publisher = new AuthEventPublisher(authEventRepository, meterRegistry, 10, 10, Duration.ofMillis(10),
+                Duration.ofSeconds(5), OverflowPolicy.DROP_NEWEST, false);
+        publisher.start();
+
+        assertFalse(publisher.publish(event("ignored")));
+        publisher.stop();
+
+        verifyNoInteractions(authEventRepository);
+    }
+}
@@ -0,0 +1,162 @@
+package com.lms.examready.cache;
+
+import com.lms.examready.model.Exam;
+import com.lms.examready.model.Question;
+import com.lms.examready.repository.ExamRepository;
+import com.lms.examready.repository.QuestionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExamContentCacheTest {
+
+    private static final UUID EXAM_ID = UUID.randomUUID();
+
+    @Mock
+    private ExamRepository examRepository;
+
+    @Mock
+    private QuestionRepository questionRepository;
+
+    private ExamContentCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ExamContentCache(examRepository, questionRepository, new SimpleMeterRegistry(), 100, 2);
+    }
+
+    private static Exam exam(long version) {
+        Exam exam = new Exam();
+        exam.setId(EXAM_ID);
+        exam.setTitle("Exam v" + version);
+        exam.setDurationMinutes(60);
+        exam.setPublished(true);
+        exam.setContentVersion(version);
+        return exam;
+    }
+
+    private static Flux<Question> questions(int fromPosition, int toPosition) {
+        return Flux.fromStream(IntStream.rangeClosed(fromPosition, toPosition).mapToObj(position -> {
+            Question question = new Question();
+            question.setId(UUID.randomUUID());
+            question.setExamId(EXAM_ID);
+            question.setPosition(position);
+            question.setPrompt("Question " + position);
+            question.setChoices(new String[]{"a", "b"});
+            question.setCorrectChoice((short) 1);
+            question.setPoints((short) 1);
+            return question;
+        }));
+    }
+
+    private long cachedVersion() {
+        return cache.get(EXAM_ID).map(ExamSnapshot::version).block();
+    }
+
+    /**
+     * Tests that a snapshot is loaded across keyset pages, each page starting after the last position of
+     * the previous one, until a short page ends the load.
+     */
+    @Test
+    void testSnapshotIsLoadedPageByPage() {
+        when(examRepository.findByIdAndPublishedTrue(EXAM_ID)).thenReturn(Mono.just(exam(1)));
+        when(questionRepository.findPage(EXAM_ID, 0, 2)).thenReturn(questions(1, 2));
+        when(questionRepository.findPage(EXAM_ID, 2, 2)).thenReturn(questions(3, 4));
+        when(questionRepository.findPage(EXAM_ID, 4, 2)).thenReturn(questions(5, 5));
+
+        StepVerifier.create(cache.get(EXAM_ID))
+                .assertNext(snapshot -> {
+                    assertEquals(5, snapshot.size());
+                    assertEquals(1, snapshot.position(0));
+                    assertEquals(5, snapshot.position(4));
+                    assertEquals(1, snapshot.correctChoice(2));
+                    assertEquals(2, snapshot.indexAfter(2));
+                })
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that concurrent misses for the same exam cause a single database read and that later
+     * requests are served from memory.
+     */
+    @Test
+    void testConcurrentMissesShareOneRead() {
+        Sinks.One<Exam> exam = Sinks.one();
+        when(examRepository.findByIdAndPublishedTrue(EXAM_ID)).thenReturn(exam.asMono());
+        when(questionRepository.findPage(EXAM_ID, 0, 2)).thenReturn(questions(1, 1));
+
+        StepVerifier first = StepVerifier.create(cache.get(EXAM_ID)).expectNextCount(1).expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(cache.get(EXAM_ID)).expectNextCount(1).expectComplete().verifyLater();
+        exam.tryEmitValue(exam(1));
+        first.verify();
+        second.verify();
+
+        assertEquals(1, cachedVersion());
+        verify(examRepository, times(1)).findByIdAndPublishedTrue(EXAM_ID);
+        verify(questionRepository, times(1)).findPage(any(), anyInt(), anyInt());
+    }
+
+    /**
+     * Tests that a newer announced version rebuilds and replaces the snapshot while announcements of
+     * versions already cached are ignored.
+     */
+    @Test
+    void testNewerVersionIsRebuilt() {
+        when(examRepository.findByIdAndPublishedTrue(EXAM_ID)).thenReturn(Mono.just(exam(1)), Mono.just(exam(2)));
+        when(questionRepository.findPage(EXAM_ID, 0, 2)).thenReturn(questions(1, 1));
+        assertEquals(1, cachedVersion());
+
+        cache.onContentChanged(EXAM_ID, 1);
+        assertEquals(1, cachedVersion());
+
+        cache.onContentChanged(EXAM_ID, 2);
+        assertEquals(2, cachedVersion());
+        verify(examRepository, times(2)).findByIdAndPublishedTrue(EXAM_ID);
+    }
+
+    /**
+     * Tests that an exam which is no longer published is dropped from the cache on rebuild.
+     */
+    @Test
+    void testUnpublishedExamIsEvicted() {
+        when(examRepository.findByIdAndPublishedTrue(EXAM_ID)).thenReturn(Mono.just(exam(1)), Mono.empty());
+        when(questionRepository.findPage(EXAM_ID, 0, 2)).thenReturn(questions(1, 1));
+        assertEquals(1, cachedVersion());
+
+        cache.onContentChanged(EXAM_ID, 2);
+
+        StepVerifier.create(cache.get(EXAM_ID)).verifyComplete();
+    }
+
+    /**
+     * Tests that a load which read the exam before a change was announced is rebuilt once it lands,
+     * rather than being served as current.
+     */
+    @Test
+    void testStaleLoadIsRebuilt() {
+        Sinks.One<Exam> staleExam = Sinks.one();
+        when(examRepository.findByIdAndPublishedTrue(EXAM_ID)).thenReturn(staleExam.asMono(), Mono.just(exam(2)));
+        when(questionRepository.findPage(EXAM_ID, 0, 2)).thenReturn(questions(1, 1));
+
+        StepVerifier load = StepVerifier.create(cache.get(EXAM_ID)).expectNextCount(1).expectComplete().verifyLater();
+        cache.onContentChanged(EXAM_ID, 2);
+        staleExam.tryEmitValue(exam(1));
+        load.verify();
+
+        assertEquals(2, cachedVersion());
+    }
+}
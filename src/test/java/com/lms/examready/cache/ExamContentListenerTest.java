@@ -0,0 +1,61 @@
+package com.lms.examready.cache;
+
+import com.lms.examready.live.ExamEventHub;
+import com.lms.examready.service.ExamAttemptService;
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ExamContentListenerTest {
+
+    private final ExamContentCache examContentCache = mock(ExamContentCache.class);
+    private final ExamEventHub examEventHub = mock(ExamEventHub.class);
+    private final UserCache userCache = mock(UserCache.class);
+    private final ExamAttemptService examAttemptService = mock(ExamAttemptService.class);
+
+    private final ExamContentListener listener = new ExamContentListener(mock(ConnectionFactory.class),
+            examContentCache, examEventHub, userCache, examAttemptService, Duration.ofSeconds(1));
+
+    private static Notification notification(String channel, String payload) {
+        Notification notification = mock(Notification.class);
+        when(notification.getName()).thenReturn(channel);
+        when(notification.getParameter()).thenReturn(payload);
+        return notification;
+    }
+
+    /**
+     * Tests that a user changed on any node is evicted from this node's user cache.
+     */
+    @Test
+    void testUserChangeEvictsCachedUser() {
+        UUID userId = UUID.randomUUID();
+        when(userCache.invalidate(userId, "student")).thenReturn(Mono.empty());
+
+        listener.onNotification(notification(ExamContentListener.USER_CHANNEL, userId + ":student"));
+
+        verify(userCache).invalidate(userId, "student");
+        verifyNoInteractions(examContentCache, examEventHub);
+    }
+
+    /**
+     * Tests that an attempt finished on any node stops being served as open from this node's cache.
+     */
+    @Test
+    void testFinishedAttemptIsEvicted() {
+        UUID attemptId = UUID.randomUUID();
+
+        listener.onNotification(notification(ExamContentListener.ATTEMPT_CHANNEL, attemptId + ":FINISHED"));
+
+        verify(examAttemptService).evictOpenAttempt(attemptId);
+        verifyNoInteractions(examContentCache, examEventHub, userCache);
+    }
+}
@@ -0,0 +1,78 @@
+package com.lms.examready.cache;
+
+import com.lms.examready.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+class LocalUserCacheTest {
+
+    private final LocalUserCache userCache = new LocalUserCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    private static User user(boolean enabled) {
+        User user = new User();
+        user.setId(UUID.fromString("5f1f3c1e-54b4-4c55-9a53-2d0f6c2f4a10"));
+        user.setUsername("testUser");
+        user.setEnabled(enabled);
+        return user;
+    }
+
+    /**
+     * Tests that a cached user is served by both username and id.
+     */
+    @Test
+    void testPutServesByUsernameAndId() {
+        User user = user(true);
+
+        userCache.put(user, Instant.now()).block();
+
+        StepVerifier.create(userCache.getByUsername("testUser")).expectNext(user).verifyComplete();
+        StepVerifier.create(userCache.getById(user.getId())).expectNext(user).verifyComplete();
+    }
+
+    /**
+     * Tests that a row read before the user was disabled is not cached after the invalidation,
+     * so the stale enabled account can never be served.
+     */
+    @Test
+    void testStaleLoadAfterInvalidationIsDropped() {
+        Instant loadedBeforeDisable = Instant.now().minusSeconds(1);
+
+        userCache.invalidate(user(false)).block();
+        userCache.put(user(true), loadedBeforeDisable).block();
+
+        StepVerifier.create(userCache.getByUsername("testUser")).verifyComplete();
+    }
+
+    /**
+     * Tests that a change announced by another node evicts the user under both keys, including the
+     * cached username when the announced one is the name before a rename.
+     */
+    @Test
+    void testInvalidateByIdEvictsBothKeys() {
+        User user = user(true);
+        userCache.put(user, Instant.now().minusSeconds(1)).block();
+
+        userCache.invalidate(user.getId(), "renamedUser").block();
+
+        StepVerifier.create(userCache.getByUsername("testUser")).verifyComplete();
+        StepVerifier.create(userCache.getById(user.getId())).verifyComplete();
+    }
+
+    /**
+     * Tests that clearing the cache also rejects rows that were read before it was cleared.
+     */
+    @Test
+    void testInvalidateAllDropsEarlierLoads() {
+        Instant loadedBeforeClear = Instant.now().minusSeconds(1);
+
+        userCache.invalidateAll();
+        userCache.put(user(true), loadedBeforeClear).block();
+
+        StepVerifier.create(userCache.getById(user(true).getId())).verifyComplete();
+    }
+}
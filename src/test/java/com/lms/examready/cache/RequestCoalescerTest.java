@@ -0,0 +1,99 @@
+package com.lms.examready.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final RequestCoalescer<String, String> coalescer = new RequestCoalescer<>("test", meterRegistry);
+
+    private double count(String result) {
+        return meterRegistry.get("coalescer.requests").tag("name", "test").tag("result", result).counter().count();
+    }
+
+    /**
+     * Tests that concurrent subscribers for one key share a single load and that the saved
+     * loads are counted.
+     */
+    @Test
+    void testConcurrentLoadsAreShared() {
+        AtomicInteger loads = new AtomicInteger();
+        Sinks.One<String> result = Sinks.one();
+
+        StepVerifier first = StepVerifier.create(coalescer.execute("key", key -> {
+            loads.incrementAndGet();
+            return result.asMono();
+        })).expectNext("value").expectComplete().verifyLater();
+        StepVerifier second = StepVerifier.create(coalescer.execute("key", key -> {
+            loads.incrementAndGet();
+            return Mono.just("other");
+        })).expectNext("value").expectComplete().verifyLater();
+
+        result.tryEmitValue("value");
+
+        first.verify();
+        second.verify();
+        assertEquals(1, loads.get());
+        assertEquals(1, count("executed"));
+        assertEquals(1, count("coalesced"));
+    }
+
+    /**
+     * Tests that the entry is dropped once the load completes, so later calls load again.
+     */
+    @Test
+    void testEntryIsRemovedAfterCompletion() {
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            StepVerifier.create(coalescer.execute("key", key -> Mono.fromCallable(() -> "value" + loads.incrementAndGet())))
+                    .expectNext("value" + (i + 1))
+                    .verifyComplete();
+        }
+
+        assertEquals(2, loads.get());
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    /**
+     * Tests that a failed load is not retained and its error reaches every waiting subscriber.
+     */
+    @Test
+    void testErrorsAreSharedAndNotRetained() {
+        Sinks.One<String> result = Sinks.one();
+
+        StepVerifier first = StepVerifier.create(coalescer.execute("key", key -> result.asMono()))
+                .expectError(IllegalStateException.class)
+                .verifyLater();
+        StepVerifier second = StepVerifier.create(coalescer.execute("key", key -> Mono.just("unused")))
+                .expectError(IllegalStateException.class)
+                .verifyLater();
+
+        result.tryEmitError(new IllegalStateException("database unavailable"));
+
+        first.verify();
+        second.verify();
+        assertEquals(0, coalescer.inFlight());
+    }
+
+    /**
+     * Tests that different keys are loaded independently.
+     */
+    @Test
+    void testDifferentKeysAreNotShared() {
+        StepVerifier.create(coalescer.execute("a", key -> Mono.just("value-a"))).expectNext("value-a").verifyComplete();
+        StepVerifier.create(coalescer.execute("b", key -> Mono.just("value-b"))).expectNext("value-b").verifyComplete();
+
+        assertEquals(2, count("executed"));
+        assertEquals(0, count("coalesced"));
+    }
+}
@@ -0,0 +1,55 @@
+package com.lms.examready.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.Mockito.*;
+
+class ConnectionPoolWarmupTest {
+
+    private final ConnectionPool pool = mock(ConnectionPool.class);
+    private final ConnectionPoolWarmup connectionPoolWarmup = new ConnectionPoolWarmup(pool, Duration.ofSeconds(1));
+
+    /**
+     * Tests that a failed warm-up keeps the node out of service, with the error in the health details,
+     * until a retry succeeds.
+     */
+    @Test
+    void testStaysOutOfServiceUntilWarmupSucceeds() {
+        when(pool.getMetrics()).thenReturn(Optional.empty());
+        when(pool.warmup()).thenReturn(Mono.error(new IllegalStateException("connection refused")), Mono.just(10));
+
+        connectionPoolWarmup.run(null);
+        Health failed = connectionPoolWarmup.health();
+
+        assertEquals(Status.OUT_OF_SERVICE, failed.getStatus());
+        assertEquals("connection refused", failed.getDetails().get("warmupError"));
+
+        connectionPoolWarmup.retryWarmup();
+        Health recovered = connectionPoolWarmup.health();
+
+        assertEquals(Status.UP, recovered.getStatus());
+        assertFalse(recovered.getDetails().containsKey("warmupError"));
+    }
+
+    /**
+     * Tests that the retry does nothing once warm-up has succeeded.
+     */
+    @Test
+    void testRetryIsSkippedAfterSuccess() {
+        when(pool.warmup()).thenReturn(Mono.just(10));
+
+        connectionPoolWarmup.run(null);
+        connectionPoolWarmup.retryWarmup();
+
+        verify(pool, times(1)).warmup();
+    }
+}
@@ -0,0 +1,115 @@
+package com.lms.examready.config;
+
+import com.lms.examready.repository.SchemaHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.support.GenericApplicationContext;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SchemaVersionVerifierTest {
+
+    @Mock
+    private SchemaHistoryRepository schemaHistoryRepository;
+
+    private SchemaVersionVerifier schemaVersionVerifier;
+
+    @BeforeEach
+    void setUp() {
+        schemaVersionVerifier = new SchemaVersionVerifier(schemaHistoryRepository, "classpath:db/migration",
+                Duration.ofSeconds(1), true);
+    }
+
+    /**
+     * Tests that the expected version is the highest migration shipped, compared as numbers.
+     */
+    @Test
+    void testExpectedVersionIsLatestMigration() {
+        int expected = Integer.parseInt(schemaVersionVerifier.expectedVersion());
+
+        assertTrue(expected >= 9);
+        assertNull(SchemaVersionVerifier.latestMigration("classpath:no/such/location"));
+    }
+
+    /**
+     * Tests that a schema at, or ahead of, the expected version is accepted.
+     */
+    @Test
+    void testAcceptsCurrentOrNewerSchema() {
+        String expected = schemaVersionVerifier.expectedVersion();
+        when(schemaHistoryRepository.findCurrentVersion())
+                .thenReturn(Mono.just(expected), Mono.just(expected + ".1"), Mono.just("1" + expected));
+
+        assertDoesNotThrow(schemaVersionVerifier::verify);
+        assertDoesNotThrow(schemaVersionVerifier::verify);
+        assertDoesNotThrow(schemaVersionVerifier::verify);
+    }
+
+    /**
+     * Tests that startup is refused when the database is behind or was never migrated.
+     */
+    @Test
+    void testRejectsOutdatedSchema() {
+        when(schemaHistoryRepository.findCurrentVersion()).thenReturn(Mono.just("1"), Mono.empty());
+
+        IllegalStateException behind = assertThrows(IllegalStateException.class, schemaVersionVerifier::verify);
+        assertTrue(behind.getMessage().contains("migrate"));
+        assertThrows(IllegalStateException.class, schemaVersionVerifier::verify);
+    }
+
+    /**
+     * Tests that a failed check aborts the context refresh before any lifecycle bean, such as the web
+     * server, is started.
+     */
+    @Test
+    void testFailedCheckAbortsRefreshBeforeLifecycleStart() {
+        when(schemaHistoryRepository.findCurrentVersion()).thenReturn(Mono.just("1"));
+        AtomicBoolean started = new AtomicBoolean();
+        SmartLifecycle webServer = new SmartLifecycle() {
+            @Override
+            public void start() {
+                started.set(true);
+            }
+
+            @Override
+            public void stop() {
+                started.set(false);
+            }
+
+            @Override
+            public boolean isRunning() {
+                return started.get();
+            }
+        };
+
+        try (GenericApplicationContext context = new GenericApplicationContext()) {
+            context.registerBean(SchemaVersionVerifier.class, () -> schemaVersionVerifier);
+            context.registerBean(SmartLifecycle.class, () -> webServer);
+
+            assertThrows(IllegalStateException.class, context::refresh);
+        }
+        assertFalse(started.get());
+    }
+
+    /**
+     * Tests that a disabled check does not query the database, as in the CDS training run.
+     */
+    @Test
+    void testDisabledCheckSkipsDatabase() {
+        new SchemaVersionVerifier(schemaHistoryRepository, "classpath:db/migration", Duration.ofSeconds(1), false)
+                .afterSingletonsInstantiated();
+
+        verifyNoInteractions(schemaHistoryRepository);
+    }
+}
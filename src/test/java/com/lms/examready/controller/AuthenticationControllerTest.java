@@ -1,8 +1,11 @@
 package com.lms.examready.controller;
 
+import com.lms.examready.dto.request.RefreshTokenRequestDto;
 import com.lms.examready.dto.request.SignInRequestDto;
 import com.lms.examready.dto.request.SignUpRequestDto;
+import com.lms.examready.dto.response.TokenResponseDto;
 import com.lms.examready.dto.response.UserResponseDto;
+import com.lms.examready.security.jwt.JwtProvider;
 import com.lms.examready.service.AuthenticationService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,9 +13,11 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.security.authentication.BadCredentialsException;
 import reactor.core.publisher.Mono;
 
+import static com.lms.examready.controller.AuthenticationController.REFRESH_TOKEN_HEADER;
 import static com.lms.examready.model.Role.USER;
 import static java.time.LocalDateTime.now;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -27,6 +32,9 @@ class AuthenticationControllerTest {
     @Mock
     private AuthenticationService authenticationService;
 
+    @Mock
+    private JwtProvider jwtProvider;
+
     private AuthenticationController authenticationController;
 
     private AutoCloseable mockitoSession;
@@ -34,7 +42,8 @@ class AuthenticationControllerTest {
     @BeforeEach
     void setUp() {
         mockitoSession = openMocks(this);
-        authenticationController = new AuthenticationController(authenticationService);
+        when(jwtProvider.resolveToken(any())).thenCallRealMethod();
+        authenticationController = new AuthenticationController(authenticationService, jwtProvider);
     }
 
     @AfterEach
@@ -44,21 +53,24 @@ class AuthenticationControllerTest {
 
     /**
      * Tests successful sign-in scenario where the authentication service returns a valid JWT token.
-     * Verifies that the controller returns a response with OK status and the correct Authorization header.
+     * Verifies that the controller returns a response with OK status, the correct Authorization header
+     * and the refresh token header.
      */
     @Test
     void testSignInSuccess() {
         SignInRequestDto signInRequestDto = new SignInRequestDto("testUser", "testPassword");
         String jwtToken = "testJwtToken";
-        when(authenticationService.signIn(signInRequestDto)).thenReturn(Mono.just(jwtToken));
+        when(authenticationService.signIn(signInRequestDto))
+                .thenReturn(Mono.just(new TokenResponseDto(jwtToken, "testRefreshToken")));
 
-        authenticationController = new AuthenticationController(authenticationService);
+        authenticationController = new AuthenticationController(authenticationService, jwtProvider);
 
         ResponseEntity<Void> response = authenticationController.signIn(signInRequestDto).block();
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals("Bearer " + jwtToken, response.getHeaders().getFirst(AUTHORIZATION));
+        assertEquals("testRefreshToken", response.getHeaders().getFirst(REFRESH_TOKEN_HEADER));
         verify(authenticationService, times(1)).signIn(signInRequestDto);
     }
 
@@ -78,6 +90,72 @@ class AuthenticationControllerTest {
         verify(authenticationService, times(1)).signIn(signInRequestDto);
     }
 
+    /**
+     * Tests a successful refresh.
+     * Verifies that the rotated access and refresh tokens are returned in the response headers.
+     */
+    @Test
+    void testRefreshSuccess() {
+        RefreshTokenRequestDto refreshTokenRequestDto = new RefreshTokenRequestDto("oldRefreshToken");
+        when(authenticationService.refresh(refreshTokenRequestDto))
+                .thenReturn(Mono.just(new TokenResponseDto("newJwtToken", "newRefreshToken")));
+
+        ResponseEntity<Void> response = authenticationController.refresh(refreshTokenRequestDto).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("Bearer newJwtToken", response.getHeaders().getFirst(AUTHORIZATION));
+        assertEquals("newRefreshToken", response.getHeaders().getFirst(REFRESH_TOKEN_HEADER));
+    }
+
+    /**
+     * Tests the refresh method with an invalid or reused refresh token.
+     * Verifies that the method returns an UNAUTHORIZED status.
+     */
+    @Test
+    void testRefresh_InvalidToken() {
+        RefreshTokenRequestDto refreshTokenRequestDto = new RefreshTokenRequestDto("reusedRefreshToken");
+        when(authenticationService.refresh(refreshTokenRequestDto))
+                .thenReturn(Mono.error(new BadCredentialsException("Invalid refresh token")));
+
+        ResponseEntity<Void> response = authenticationController.refresh(refreshTokenRequestDto).block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+    }
+
+    /**
+     * Tests sign-out with an access token and a refresh token.
+     * Verifies that both are passed to the service without the Bearer prefix and NO_CONTENT is returned.
+     */
+    @Test
+    void testSignOut() {
+        when(authenticationService.signOut("jwtToken", "refreshToken")).thenReturn(Mono.empty());
+
+        ResponseEntity<Void> response = authenticationController.signOut(withAuthorization("Bearer jwtToken"), "refreshToken").block();
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(authenticationService).signOut("jwtToken", "refreshToken");
+    }
+
+    /**
+     * Tests that sign-out without a bearer token is rejected before reaching the service.
+     */
+    @Test
+    void testSignOutWithoutBearerToken() {
+        ResponseEntity<Void> basic = authenticationController.signOut(withAuthorization("Basic dXNlcjpwYXNz"), null).block();
+        ResponseEntity<Void> missing = authenticationController.signOut(MockServerHttpRequest.post("/api/auth/sign-out").build(), null).block();
+
+        assertEquals(HttpStatus.UNAUTHORIZED, basic.getStatusCode());
+        assertEquals(HttpStatus.UNAUTHORIZED, missing.getStatusCode());
+        verifyNoInteractions(authenticationService);
+    }
+
+    private static MockServerHttpRequest withAuthorization(String authorization) {
+        return MockServerHttpRequest.post("/api/auth/sign-out").header(AUTHORIZATION, authorization).build();
+    }
+
     /**
      * Tests the signUp method of AuthenticationController for successful user registration.
      * Verifies that the controller returns a ResponseEntity with CREATED status and the correct UserResponseDto.
@@ -89,7 +167,7 @@ class AuthenticationControllerTest {
         UserResponseDto expectedUserResponseDto = new UserResponseDto( "testUser", "test@email.com", USER, now());
         when(authenticationService.signUp(signUpRequestDto)).thenReturn(Mono.just(expectedUserResponseDto));
 
-        authenticationController = new AuthenticationController(authenticationService);
+        authenticationController = new AuthenticationController(authenticationService, jwtProvider);
 
         // Act
         ResponseEntity<UserResponseDto> response = authenticationController.signUp(signUpRequestDto).block();
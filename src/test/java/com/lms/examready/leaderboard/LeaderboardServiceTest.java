@@ -0,0 +1,121 @@
+package com.lms.examready.leaderboard;
+
+import com.lms.examready.model.User;
+import com.lms.examready.repository.ExamAttemptRepository;
+import com.lms.examready.scoring.AttemptScore;
+import com.lms.examready.service.UserService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LeaderboardServiceTest {
+
+    private static final UUID EXAM_ID = UUID.randomUUID();
+
+    @Mock
+    private ExamAttemptRepository examAttemptRepository;
+
+    @Mock
+    private UserService userService;
+
+    private LeaderboardService leaderboardService;
+
+    @BeforeEach
+    void setUp() {
+        leaderboardService = new LeaderboardService(examAttemptRepository, userService, new SimpleMeterRegistry(),
+                2, 100, Duration.ofSeconds(30), Duration.ofDays(7));
+    }
+
+    private static AttemptScore score(UUID userId, int score) {
+        return new AttemptScore(null, EXAM_ID, userId, score, 10);
+    }
+
+    private static User user(UUID id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+
+    /**
+     * Tests that an exam is read from the database once and then served from memory, with the limit
+     * capped.
+     */
+    @Test
+    void testTopIsServedFromMemory() {
+        UUID alice = UUID.randomUUID();
+        UUID bob = UUID.randomUUID();
+        when(examAttemptRepository.findBestScores(EXAM_ID)).thenReturn(Flux.just(score(bob, 4), score(alice, 9)));
+        when(userService.findById(alice)).thenReturn(Mono.just(user(alice, "alice")));
+        when(userService.findById(bob)).thenReturn(Mono.just(user(bob, "bob")));
+
+        StepVerifier.create(leaderboardService.top(EXAM_ID, 50))
+                .expectNextMatches(entry -> entry.rank() == 1 && entry.username().equals("alice"))
+                .expectNextMatches(entry -> entry.rank() == 2 && entry.username().equals("bob"))
+                .verifyComplete();
+        StepVerifier.create(leaderboardService.top(EXAM_ID, 1))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(examAttemptRepository, times(1)).findBestScores(EXAM_ID);
+    }
+
+    /**
+     * Tests that results written locally update a loaded index, and that a user without a result has
+     * no standing.
+     */
+    @Test
+    void testRecordUpdatesLoadedIndex() {
+        UUID userId = UUID.randomUUID();
+        when(examAttemptRepository.findBestScores(EXAM_ID)).thenReturn(Flux.just(score(UUID.randomUUID(), 6)));
+
+        StepVerifier.create(leaderboardService.standing(EXAM_ID, userId))
+                .verifyComplete();
+
+        leaderboardService.record(List.of(score(userId, 8), new AttemptScore(null, UUID.randomUUID(), userId, 1, 1)));
+
+        StepVerifier.create(leaderboardService.standing(EXAM_ID, userId))
+                .expectNextMatches(standing -> standing.rank() == 1 && standing.candidates() == 2
+                        && standing.percentile() == 50.0)
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that the refresh reads results scored on any node since the previous cursor, minus the
+     * overlap.
+     */
+    @Test
+    void testRefreshPicksUpRemoteResults() {
+        LocalDateTime preloadedAt = LocalDateTime.now();
+        UUID userId = UUID.randomUUID();
+        when(examAttemptRepository.currentTimestamp())
+                .thenReturn(Mono.just(preloadedAt), Mono.just(preloadedAt.plusSeconds(10)));
+        when(examAttemptRepository.findExamsScoredSince(preloadedAt.minusDays(7))).thenReturn(Flux.just(EXAM_ID));
+        when(examAttemptRepository.findBestScores(EXAM_ID)).thenReturn(Flux.empty());
+        leaderboardService.refresh();
+
+        when(examAttemptRepository.findScoredSince(preloadedAt.minusSeconds(30)))
+                .thenReturn(Flux.just(score(userId, 7)));
+        leaderboardService.refresh();
+
+        StepVerifier.create(leaderboardService.standing(EXAM_ID, userId))
+                .expectNextMatches(standing -> standing.score() == 7 && standing.rank() == 1)
+                .verifyComplete();
+        verify(examAttemptRepository, times(1)).findBestScores(any());
+    }
+}
@@ -0,0 +1,112 @@
+package com.lms.examready.leaderboard;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScoreIndexTest {
+
+    private final ScoreIndex index = new ScoreIndex();
+
+    /**
+     * Tests that rank counts the candidates with a higher score, ties share a rank, and the percentile is
+     * the share of candidates scoring lower.
+     */
+    @Test
+    void testStanding() {
+        UUID best = UUID.randomUUID();
+        UUID tiedFirst = UUID.randomUUID();
+        UUID tiedSecond = UUID.randomUUID();
+        UUID worst = UUID.randomUUID();
+        index.record(best, 9, 10);
+        index.record(tiedFirst, 5, 10);
+        index.record(tiedSecond, 5, 10);
+        index.record(worst, 0, 10);
+
+        assertEquals(new ScoreIndex.Standing(9, 10, 1, 4, 75.0), index.standing(best));
+        assertEquals(new ScoreIndex.Standing(5, 10, 2, 4, 25.0), index.standing(tiedFirst));
+        assertEquals(2, index.standing(tiedSecond).rank());
+        assertEquals(new ScoreIndex.Standing(0, 10, 4, 4, 0.0), index.standing(worst));
+        assertNull(index.standing(UUID.randomUUID()));
+    }
+
+    /**
+     * Tests that only the best score of a candidate counts.
+     */
+    @Test
+    void testKeepsBestScore() {
+        UUID userId = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        index.record(other, 6, 10);
+
+        assertTrue(index.record(userId, 4, 10));
+        assertTrue(index.record(userId, 8, 10));
+        assertFalse(index.record(userId, 3, 10));
+        assertFalse(index.record(userId, 8, 10));
+
+        assertEquals(2, index.size());
+        assertEquals(8, index.standing(userId).score());
+        assertEquals(2, index.standing(other).rank());
+    }
+
+    /**
+     * Tests that top N is ordered by score and ranks skip past ties.
+     */
+    @Test
+    void testTop() {
+        UUID first = UUID.randomUUID();
+        UUID tiedFirst = UUID.randomUUID();
+        UUID tiedSecond = UUID.randomUUID();
+        UUID last = UUID.randomUUID();
+        index.record(last, 1, 10);
+        index.record(tiedFirst, 7, 10);
+        index.record(first, 10, 10);
+        index.record(tiedSecond, 7, 10);
+
+        List<ScoreIndex.Entry> top = index.top(3);
+
+        assertEquals(3, top.size());
+        assertEquals(new ScoreIndex.Entry(first, 10, 1), top.get(0));
+        assertEquals(2, top.get(1).rank());
+        assertEquals(2, top.get(2).rank());
+        assertEquals(new ScoreIndex.Entry(last, 1, 4), index.top(10).get(3));
+        assertTrue(new ScoreIndex().top(5).isEmpty());
+    }
+
+    /**
+     * Tests that ranks stay exact when scores grow past the initial capacity of the tree.
+     */
+    @Test
+    void testRanksMatchSortedScoresAcrossGrowth() {
+        Random random = new Random(42);
+        int[] scores = new int[2_000];
+        UUID[] users = new UUID[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            users[i] = UUID.randomUUID();
+            scores[i] = random.nextInt(1_000);
+            index.record(users[i], scores[i], 1_000);
+        }
+
+        for (int i = 0; i < scores.length; i += 97) {
+            int higher = 0;
+            for (int score : scores) {
+                if (score > scores[i]) {
+                    higher++;
+                }
+            }
+            assertEquals(higher + 1, index.standing(users[i]).rank());
+        }
+    }
+
+    /**
+     * Tests that a negative score is rejected.
+     */
+    @Test
+    void testRejectsNegativeScore() {
+        assertThrows(IllegalArgumentException.class, () -> index.record(UUID.randomUUID(), -1, 10));
+    }
+}
@@ -0,0 +1,75 @@
+package com.lms.examready.live;
+
+import com.lms.examready.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+class ExamEventHubTest {
+
+    private static final UUID EXAM_ID = UUID.randomUUID();
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+
+    private final ExamEventHub hub = new ExamEventHub(notificationRepository, new SimpleMeterRegistry(),
+            Duration.ofHours(1), true);
+
+    /**
+     * Tests that an event reaches every subscriber of the exam and that the channel is released once
+     * the last subscriber leaves.
+     */
+    @Test
+    void testPublishFansOutAndReleasesChannel() {
+        ExamEvent announcement = ExamEvent.announcement("Ten minutes left", LocalDateTime.now());
+
+        StepVerifier first = StepVerifier.create(hub.subscribe(EXAM_ID))
+                .expectNext(announcement)
+                .thenCancel()
+                .verifyLater();
+        StepVerifier second = StepVerifier.create(hub.subscribe(EXAM_ID))
+                .expectNext(announcement)
+                .thenCancel()
+                .verifyLater();
+        assertEquals(2, hub.connections());
+        assertEquals(1, hub.channels());
+
+        hub.publish(EXAM_ID, announcement);
+        first.verify();
+        second.verify();
+
+        assertEquals(0, hub.connections());
+        assertEquals(0, hub.channels());
+    }
+
+    /**
+     * Tests that events of other exams are not delivered.
+     */
+    @Test
+    void testEventsAreScopedToTheExam() {
+        StepVerifier.create(hub.subscribe(EXAM_ID))
+                .then(() -> hub.publish(UUID.randomUUID(), ExamEvent.updated(2, LocalDateTime.now())))
+                .expectNoEvent(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+    }
+
+    /**
+     * Tests that announcements go out through the database so every instance receives them.
+     */
+    @Test
+    void testAnnounceNotifiesAllInstances() {
+        when(notificationRepository.notify(anyString(), anyString())).thenReturn(Mono.empty());
+
+        StepVerifier.create(hub.announce(EXAM_ID, "Ten minutes left")).verifyComplete();
+
+        verify(notificationRepository).notify(ExamEventHub.ANNOUNCEMENTS_CHANNEL, EXAM_ID + ":Ten minutes left");
+    }
+}
@@ -0,0 +1,72 @@
+package com.lms.examready.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong nanos = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private RateLimiter rateLimiter(int permits, int burst) {
+        return new RateLimiter(permits, Duration.ofMinutes(1), burst, 1_000, nanos::get);
+    }
+
+    /**
+     * Tests that a full burst is admitted at once and the next request is told when to retry.
+     */
+    @Test
+    void testBurstThenRetryAfter() {
+        RateLimiter rateLimiter = rateLimiter(6, 3);
+
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("user"));
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("user"));
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("user"));
+
+        assertEquals(Duration.ofSeconds(10), rateLimiter.tryAcquire("user"));
+    }
+
+    /**
+     * Tests that the bucket refills at the configured rate.
+     */
+    @Test
+    void testRefillsOverTime() {
+        RateLimiter rateLimiter = rateLimiter(6, 1);
+
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("user"));
+        assertFalse(rateLimiter.tryAcquire("user").isZero());
+
+        nanos.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("user"));
+    }
+
+    /**
+     * Tests that keys are limited independently.
+     */
+    @Test
+    void testKeysAreIndependent() {
+        RateLimiter rateLimiter = rateLimiter(1, 1);
+
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("first"));
+        assertFalse(rateLimiter.tryAcquire("first").isZero());
+        assertEquals(Duration.ZERO, rateLimiter.tryAcquire("second"));
+    }
+
+    /**
+     * Tests that idle buckets are evicted once they would have refilled completely.
+     */
+    @Test
+    void testIdleBucketsAreEvicted() {
+        RateLimiter rateLimiter = rateLimiter(60, 5);
+        rateLimiter.tryAcquire("idle");
+        assertEquals(1, rateLimiter.size());
+
+        nanos.addAndGet(Duration.ofSeconds(6).toNanos());
+
+        assertEquals(0, rateLimiter.size());
+    }
+}
@@ -0,0 +1,159 @@
+package com.lms.examready.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SignInRateLimitFilterTest {
+
+    private final AtomicReference<String> forwardedBody = new AtomicReference<>();
+
+    private final WebFilterChain chain = exchange -> DataBufferUtils.join(exchange.getRequest().getBody())
+            .doOnNext(buffer -> forwardedBody.set(buffer.toString(StandardCharsets.UTF_8)))
+            .then();
+
+    private SignInRateLimitFilter filter(int addressBurst, int usernameBurst, int maxConcurrent) {
+        return new SignInRateLimitFilter(
+                new RateLimiter(1, Duration.ofMinutes(1), addressBurst, 100, System::nanoTime),
+                new RateLimiter(1, Duration.ofMinutes(1), usernameBurst, 100, System::nanoTime),
+                maxConcurrent,
+                Set.of("10.1.0.1", "10.1.0.2"),
+                new ObjectMapper(),
+                new SimpleMeterRegistry());
+    }
+
+    private static MockServerWebExchange signIn(String address, String username) {
+        return MockServerWebExchange.from(MockServerHttpRequest.post(SignInRateLimitFilter.SIGN_IN_PATH)
+                .remoteAddress(new InetSocketAddress(address, 40000))
+                .body("{\"username\":\"" + username + "\",\"password\":\"password\"}"));
+    }
+
+    /**
+     * Tests that an admitted sign-in reaches the handler with its body intact.
+     */
+    @Test
+    void testAdmittedRequestKeepsBody() {
+        MockServerWebExchange exchange = signIn("10.0.0.1", "student");
+
+        StepVerifier.create(filter(10, 10, 10).filter(exchange, chain)).verifyComplete();
+
+        assertNull(exchange.getResponse().getStatusCode());
+        assertEquals("{\"username\":\"student\",\"password\":\"password\"}", forwardedBody.get());
+    }
+
+    /**
+     * Tests that repeated sign-ins for one username are rejected with 429 and Retry-After,
+     * even when they come from different addresses.
+     */
+    @Test
+    void testPerUsernameLimit() {
+        SignInRateLimitFilter filter = filter(10, 1, 10);
+        filter.filter(signIn("10.0.0.1", "student"), chain).block();
+
+        MockServerWebExchange exchange = signIn("10.0.0.2", "student");
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+        assertEquals("60", exchange.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+
+    /**
+     * Tests that one address cannot spray sign-ins across many usernames.
+     */
+    @Test
+    void testPerClientAddressLimit() {
+        SignInRateLimitFilter filter = filter(1, 10, 10);
+        filter.filter(signIn("10.0.0.1", "first"), chain).block();
+
+        MockServerWebExchange exchange = signIn("10.0.0.1", "second");
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+    }
+
+    /**
+     * Tests that sign-ins beyond the in-flight cap are rejected instead of queued,
+     * and that the slot is released when the in-flight request completes.
+     */
+    @Test
+    void testConcurrencyCap() {
+        SignInRateLimitFilter filter = filter(10, 10, 1);
+        Sinks.Empty<Void> slowHandler = Sinks.empty();
+        filter.filter(signIn("10.0.0.1", "first"), exchange -> slowHandler.asMono()).subscribe();
+
+        MockServerWebExchange rejected = signIn("10.0.0.2", "second");
+        filter.filter(rejected, chain).block();
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("1", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+
+        slowHandler.tryEmitEmpty();
+        MockServerWebExchange admitted = signIn("10.0.0.3", "third");
+        filter.filter(admitted, chain).block();
+        assertNull(admitted.getResponse().getStatusCode());
+    }
+
+    /**
+     * Tests that other endpoints are not limited.
+     */
+    @Test
+    void testOtherPathsPassThrough() {
+        SignInRateLimitFilter filter = filter(1, 1, 1);
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users/me")
+                    .remoteAddress(new InetSocketAddress("10.0.0.1", 40000)));
+            filter.filter(exchange, ex -> Mono.empty()).block();
+            assertNull(exchange.getResponse().getStatusCode());
+        }
+    }
+
+    /**
+     * Tests that the forwarded client address is used only when the request comes from a trusted proxy,
+     * skipping trusted hops and ignoring entries the client prepended itself.
+     */
+    @Test
+    void testClientAddressBehindTrustedProxy() {
+        SignInRateLimitFilter filter = filter(10, 10, 10);
+
+        assertEquals("203.0.113.7", filter.clientAddress(MockServerHttpRequest.post(SignInRateLimitFilter.SIGN_IN_PATH)
+                .remoteAddress(new InetSocketAddress("10.1.0.1", 40000))
+                .header("X-Forwarded-For", "198.51.100.1, 203.0.113.7", "10.1.0.2")
+                .build()));
+        assertEquals("10.1.0.1", filter.clientAddress(MockServerHttpRequest.post(SignInRateLimitFilter.SIGN_IN_PATH)
+                .remoteAddress(new InetSocketAddress("10.1.0.1", 40000))
+                .build()));
+    }
+
+    /**
+     * Tests that X-Forwarded-For from an untrusted peer cannot move it into another address bucket.
+     */
+    @Test
+    void testForwardedForIgnoredFromUntrustedPeer() {
+        SignInRateLimitFilter filter = filter(1, 10, 10);
+        filter.filter(signIn("10.0.0.1", "first"), chain).block();
+
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post(SignInRateLimitFilter.SIGN_IN_PATH)
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 40000))
+                .header("X-Forwarded-For", "198.51.100.99")
+                .body("{\"username\":\"second\",\"password\":\"password\"}"));
+        filter.filter(exchange, chain).block();
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, exchange.getResponse().getStatusCode());
+    }
+}
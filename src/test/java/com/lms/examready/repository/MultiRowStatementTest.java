@@ -0,0 +1,49 @@
+package com.lms.examready.repository;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+
+class MultiRowStatementTest {
+
+    private record Row(UUID id, String name) {
+    }
+
+    private final MultiRowStatement<Row> statement = new MultiRowStatement<Row>()
+            .column(Row::id, UUID.class, "uuid")
+            .column(Row::name, String.class);
+
+    /**
+     * Tests that placeholders are numbered across rows and carry the column casts.
+     */
+    @Test
+    void testPlaceholders() {
+        assertEquals("($1::uuid, $2), ($3::uuid, $4), ($5::uuid, $6)", statement.placeholders(3));
+    }
+
+    /**
+     * Tests that rows are bound in placeholder order and null values are bound with the column type.
+     */
+    @Test
+    void testBindsRowsInOrder() {
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class, RETURNS_SELF);
+
+        statement.bind(spec, List.of(new Row(first, "first"), new Row(second, null)));
+
+        InOrder order = inOrder(spec);
+        order.verify(spec).bind(0, first);
+        order.verify(spec).bind(1, "first");
+        order.verify(spec).bind(2, second);
+        order.verify(spec).bindNull(3, String.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.lms.examready.scoring;
+
+import com.lms.examready.attempt.AttemptAnswer;
+import com.lms.examready.model.Question;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AnswerKeyTest {
+
+    private static final UUID ATTEMPT_ID = UUID.randomUUID();
+
+    private static Question question(int correctChoice, int points) {
+        Question question = new Question();
+        question.setId(UUID.randomUUID());
+        question.setCorrectChoice((short) correctChoice);
+        question.setPoints((short) points);
+        return question;
+    }
+
+    private static AttemptAnswer answer(Question question, int choice) {
+        return new AttemptAnswer(ATTEMPT_ID, question.getId(), (short) choice, LocalDateTime.now());
+    }
+
+    /**
+     * Tests that only correct answers score their points, and that answers to questions outside the
+     * key are ignored.
+     */
+    @Test
+    void testScore() {
+        Question first = question(2, 1);
+        Question second = question(0, 4);
+        Question third = question(1, 2);
+        AnswerKey key = AnswerKey.of(List.of(first, second, third));
+
+        assertEquals(7, key.maxScore());
+        assertEquals(5, key.score(List.of(answer(first, 2), answer(second, 0), answer(third, 0))));
+        assertEquals(0, key.score(List.of(answer(question(1, 9), 1))));
+        assertEquals(0, key.score(List.of()));
+    }
+}
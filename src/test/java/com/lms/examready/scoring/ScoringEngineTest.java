@@ -0,0 +1,173 @@
+package com.lms.examready.scoring;
+
+import com.lms.examready.attempt.AnswerBuffer;
+import com.lms.examready.attempt.AttemptAnswer;
+import com.lms.examready.leaderboard.LeaderboardService;
+import com.lms.examready.model.AttemptStatus;
+import com.lms.examready.model.ExamAttempt;
+import com.lms.examready.model.Question;
+import com.lms.examready.repository.AttemptAnswerRepository;
+import com.lms.examready.repository.ExamAttemptRepository;
+import com.lms.examready.repository.QuestionRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ScoringEngineTest {
+
+    private static final UUID EXAM_ID = UUID.randomUUID();
+    private static final UUID FIRST_QUESTION = UUID.randomUUID();
+    private static final UUID SECOND_QUESTION = UUID.randomUUID();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExamAttemptRepository examAttemptRepository = mock(ExamAttemptRepository.class);
+    private final AttemptAnswerRepository attemptAnswerRepository = mock(AttemptAnswerRepository.class);
+    private final QuestionRepository questionRepository = mock(QuestionRepository.class);
+    private final TransactionalOperator transactionalOperator = mock(TransactionalOperator.class);
+    private final LeaderboardService leaderboardService = mock(LeaderboardService.class);
+
+    private ScoringEngine scoringEngine;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(questionRepository.findAnswerKey(EXAM_ID)).thenReturn(Flux.just(
+                question(FIRST_QUESTION, 1, 2),
+                question(SECOND_QUESTION, 0, 3)));
+        scoringEngine = new ScoringEngine(examAttemptRepository, attemptAnswerRepository, questionRepository,
+                transactionalOperator, leaderboardService, meterRegistry, 2, 2, Duration.ofSeconds(30),
+                Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        scoringEngine.shutdown();
+    }
+
+    private static Question question(UUID id, int correctChoice, int points) {
+        Question question = new Question();
+        question.setId(id);
+        question.setExamId(EXAM_ID);
+        question.setCorrectChoice((short) correctChoice);
+        question.setPoints((short) points);
+        return question;
+    }
+
+    private static ExamAttempt attempt(UUID id) {
+        ExamAttempt attempt = new ExamAttempt();
+        attempt.setId(id);
+        attempt.setExamId(EXAM_ID);
+        attempt.setUserId(UUID.randomUUID());
+        attempt.setStatus(AttemptStatus.FINISHED);
+        return attempt;
+    }
+
+    private static AttemptAnswer answer(UUID attemptId, UUID questionId, int choice) {
+        return new AttemptAnswer(attemptId, questionId, (short) choice, LocalDateTime.now());
+    }
+
+    /**
+     * Tests that attempts are scored batch by batch, each batch starting after the last attempt of the
+     * previous one, that the answer key is loaded once per run and that progress is counted.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testRunScoresAllBatches() {
+        UUID first = new UUID(0, 1);
+        UUID second = new UUID(0, 2);
+        UUID third = new UUID(0, 3);
+        when(examAttemptRepository.countToScore(any())).thenReturn(Mono.just(3L));
+        when(examAttemptRepository.findToScore(eq(new UUID(0, 0)), any(), eq(2)))
+                .thenReturn(Flux.just(attempt(first), attempt(second)));
+        when(examAttemptRepository.findToScore(eq(second), any(), eq(2))).thenReturn(Flux.just(attempt(third)));
+        when(attemptAnswerRepository.findByAttemptIds(anyCollection())).thenReturn(
+                Flux.just(answer(first, FIRST_QUESTION, 1), answer(first, SECOND_QUESTION, 0),
+                        answer(second, FIRST_QUESTION, 0)),
+                Flux.just(answer(third, SECOND_QUESTION, 0)));
+        when(examAttemptRepository.saveScores(anyList()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<AttemptScore>>getArgument(0).size()));
+
+        StepVerifier.create(scoringEngine.run())
+                .expectNext(3L)
+                .verifyComplete();
+
+        ArgumentCaptor<List<AttemptScore>> scores = ArgumentCaptor.forClass(List.class);
+        verify(examAttemptRepository, times(2)).saveScores(scores.capture());
+        Map<UUID, AttemptScore> byAttempt = scores.getAllValues().stream()
+                .flatMap(List::stream)
+                .collect(Collectors.toMap(AttemptScore::attemptId, score -> score));
+        assertEquals(5, byAttempt.get(first).score());
+        assertEquals(0, byAttempt.get(second).score());
+        assertEquals(3, byAttempt.get(third).score());
+        assertEquals(5, byAttempt.get(third).maxScore());
+        verify(questionRepository, times(1)).findAnswerKey(EXAM_ID);
+        verify(leaderboardService, times(2)).record(anyList());
+        assertEquals(3, meterRegistry.get("scoring.attempts.scored").counter().count());
+    }
+
+    /**
+     * Tests that a run with nothing to score completes without writing.
+     */
+    @Test
+    void testRunWithNothingToScore() {
+        when(examAttemptRepository.countToScore(any())).thenReturn(Mono.just(0L));
+        when(examAttemptRepository.findToScore(any(), any(), anyInt())).thenReturn(Flux.empty());
+
+        StepVerifier.create(scoringEngine.run())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(examAttemptRepository, never()).saveScores(anyList());
+    }
+
+    /**
+     * Tests that a scoring run that does not finish neither holds the scheduling thread, so the answer
+     * buffer flush scheduled after it still runs, nor lets the next tick start a second run.
+     */
+    @Test
+    void testSlowRunDoesNotDelayAnswerFlush() throws InterruptedException {
+        when(examAttemptRepository.countToScore(any())).thenReturn(Mono.never());
+        AttemptAnswerRepository flushRepository = mock(AttemptAnswerRepository.class);
+        CountDownLatch flushed = new CountDownLatch(1);
+        when(flushRepository.upsertAll(anyList())).thenAnswer(invocation -> {
+            flushed.countDown();
+            return Mono.just(1L);
+        });
+        AnswerBuffer answerBuffer = new AnswerBuffer(flushRepository, meterRegistry, 100, 3, Duration.ofSeconds(5));
+        UUID attemptId = UUID.randomUUID();
+        answerBuffer.add(attemptId, List.of(answer(attemptId, FIRST_QUESTION, 1)));
+        ThreadPoolTaskScheduler taskScheduler = new ThreadPoolTaskScheduler();
+        taskScheduler.initialize();
+        try {
+            taskScheduler.execute(scoringEngine::scoreFinishedAttempts);
+            taskScheduler.execute(answerBuffer::flushScheduled);
+
+            assertTrue(flushed.await(5, TimeUnit.SECONDS));
+            scoringEngine.scoreFinishedAttempts();
+            verify(examAttemptRepository, times(1)).countToScore(any());
+        } finally {
+            taskScheduler.shutdown();
+        }
+    }
+}
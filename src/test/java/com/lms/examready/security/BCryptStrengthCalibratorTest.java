@@ -0,0 +1,33 @@
+package com.lms.examready.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BCryptStrengthCalibratorTest {
+
+    /**
+     * Tests that the strength is raised while the doubled cost still fits the target.
+     */
+    @Test
+    void testPicksHighestStrengthWithinTarget() {
+        // 60 ms at 10 -> 120 ms at 11 -> 240 ms at 12 -> 480 ms at 13
+        int strength = BCryptStrengthCalibrator.strengthFor(Duration.ofMillis(250), 10, 14,
+                s -> Duration.ofMillis(60));
+
+        assertEquals(12, strength);
+    }
+
+    /**
+     * Tests that slow hardware never goes below the minimum and fast hardware never above the maximum.
+     */
+    @Test
+    void testClampsToBounds() {
+        assertEquals(10, BCryptStrengthCalibrator.strengthFor(Duration.ofMillis(250), 10, 14,
+                s -> Duration.ofSeconds(1)));
+        assertEquals(14, BCryptStrengthCalibrator.strengthFor(Duration.ofMillis(250), 10, 14,
+                s -> Duration.ofNanos(1)));
+    }
+}
@@ -0,0 +1,47 @@
+package com.lms.examready.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import static org.springframework.web.reactive.function.server.RequestPredicates.POST;
+
+class CorsConfigurationTest {
+
+    private final WebTestClient webTestClient = WebTestClient
+            .bindToRouterFunction(RouterFunctions.route(POST("/api/auth/sign-out"), request -> ServerResponse.noContent().build()))
+            .webFilter(new CorsWebFilter(new SecurityConfig().corsConfigurationSource()))
+            .build();
+
+    /**
+     * Tests that the front end may send the refresh token on sign-out, so the preflight for it passes.
+     */
+    @Test
+    void testSignOutPreflightAllowsRefreshTokenHeader() {
+        webTestClient.options()
+                .uri("/api/auth/sign-out")
+                .header("Origin", "http://localhost:4200")
+                .header("Access-Control-Request-Method", "POST")
+                .header("Access-Control-Request-Headers", "authorization, refresh-token")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("Access-Control-Allow-Origin", "http://localhost:4200")
+                .expectHeader().valueMatches("Access-Control-Allow-Headers", "(?i).*refresh-token.*");
+    }
+
+    /**
+     * Tests that a header outside the allowed list is still refused.
+     */
+    @Test
+    void testPreflightRejectsUnknownHeader() {
+        webTestClient.options()
+                .uri("/api/auth/sign-out")
+                .header("Origin", "http://localhost:4200")
+                .header("Access-Control-Request-Method", "POST")
+                .header("Access-Control-Request-Headers", "x-unknown")
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+}
@@ -0,0 +1,108 @@
+package com.lms.examready.security;
+
+import com.lms.examready.exception.PasswordHashingUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PasswordHasherTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PasswordHasher passwordHasher;
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    /**
+     * Tests that encode and matches run off the caller thread and produce a verifiable hash.
+     * Verifies that the hash latency timer records both operations.
+     */
+    @Test
+    void testEncodeAndMatchesOnHashingPool() {
+        passwordHasher = new PasswordHasher(new BCryptPasswordEncoder(4), meterRegistry, 2, 8, 1, 1);
+
+        String encoded = passwordHasher.encode("password123").block();
+
+        assertNotEquals("password123", encoded);
+        StepVerifier.create(passwordHasher.matches("password123", encoded))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(passwordHasher.matches("wrongPassword", encoded))
+                .expectNext(false)
+                .verifyComplete();
+
+        assertEquals(1, meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("auth.password.hash").tag("operation", "matches").timer().count());
+    }
+
+    /**
+     * Tests that hashing requests are rejected once the worker and the queue are both occupied.
+     * Expects a PasswordHashingUnavailableException instead of unbounded queueing.
+     */
+    @Test
+    void testRejectsWhenSaturated() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = mock(PasswordEncoder.class);
+        when(blockingEncoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "encoded";
+        });
+        passwordHasher = new PasswordHasher(blockingEncoder, meterRegistry, 1, 1, 1, 1);
+
+        passwordHasher.encode("first").subscribe();
+        started.await();
+        passwordHasher.encode("queued").subscribe();
+
+        StepVerifier.create(passwordHasher.encode("rejected"))
+                .expectError(PasswordHashingUnavailableException.class)
+                .verify();
+
+        release.countDown();
+    }
+
+    /**
+     * Tests that a burst of hash upgrades is dropped once the rehash pool is full and never
+     * takes capacity from sign-in verifications on the main pool.
+     */
+    @Test
+    void testRehashesDoNotConsumeSignInCapacity() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder blockingEncoder = mock(PasswordEncoder.class);
+        when(blockingEncoder.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return "encoded";
+        });
+        when(blockingEncoder.matches(any(), any())).thenReturn(true);
+        passwordHasher = new PasswordHasher(blockingEncoder, meterRegistry, 1, 1, 1, 1);
+
+        passwordHasher.rehash("first").subscribe();
+        started.await();
+        passwordHasher.rehash("queued").subscribe();
+
+        StepVerifier.create(passwordHasher.rehash("dropped"))
+                .verifyComplete();
+        StepVerifier.create(passwordHasher.matches("password", "encoded"))
+                .expectNext(true)
+                .verifyComplete();
+
+        release.countDown();
+    }
+}
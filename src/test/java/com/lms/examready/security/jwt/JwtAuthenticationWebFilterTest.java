@@ -0,0 +1,120 @@
+package com.lms.examready.security.jwt;
+
+import com.lms.examready.security.revocation.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.lms.examready.model.Role.USER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+class JwtAuthenticationWebFilterTest {
+
+    private JwtProvider jwtProvider;
+
+    private TokenRevocationService tokenRevocationService;
+
+    private JwtAuthenticationWebFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtProvider = mock(JwtProvider.class);
+        when(jwtProvider.resolveToken(any())).thenCallRealMethod();
+        tokenRevocationService = mock(TokenRevocationService.class);
+        when(tokenRevocationService.isRevoked(any())).thenReturn(Mono.just(false));
+        filter = new JwtAuthenticationWebFilter(jwtProvider, new VerifiedTokenCache(new SimpleMeterRegistry(), 100),
+                tokenRevocationService);
+    }
+
+    private static VerifiedToken verifiedToken(String tokenId) {
+        UUID userId = UUID.randomUUID();
+        return new VerifiedToken(userId, userId.toString(), "testUser", USER, tokenId,
+                System.currentTimeMillis() + 60_000);
+    }
+
+    private Authentication filterWithToken(String token) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/resource").header(AUTHORIZATION, JwtProvider.AUTH_TOKEN_TYPE + token));
+        AtomicReference<Authentication> authentication = new AtomicReference<>();
+        WebFilterChain chain = ex -> ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .doOnNext(authentication::set)
+                .then();
+
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+        return authentication.get();
+    }
+
+    /**
+     * Tests that a repeated token is served from the verified-token cache.
+     * Verifies that the signature is checked only once for the same token.
+     */
+    @Test
+    void testRepeatedTokenSkipsVerification() {
+        VerifiedToken verifiedToken = verifiedToken("jti");
+        when(jwtProvider.verify("token")).thenReturn(verifiedToken);
+
+        assertEquals(verifiedToken.userId(), filterWithToken("token").getPrincipal());
+        assertEquals(verifiedToken.userId(), filterWithToken("token").getPrincipal());
+
+        verify(jwtProvider, times(1)).verify("token");
+    }
+
+    /**
+     * Tests that every request gets its own authentication, so distrusting it in one request leaves
+     * later requests with the same cached token authenticated.
+     */
+    @Test
+    void testAuthenticationIsNotSharedBetweenRequests() {
+        when(jwtProvider.verify("token")).thenReturn(verifiedToken("jti"));
+
+        Authentication first = filterWithToken("token");
+        first.setAuthenticated(false);
+        Authentication second = filterWithToken("token");
+
+        assertNotSame(first, second);
+        assertEquals(first, second);
+        assertTrue(second.isAuthenticated());
+    }
+
+    /**
+     * Tests that rejected tokens are not cached and are verified again on the next request.
+     */
+    @Test
+    void testInvalidTokenIsNotCached() {
+        when(jwtProvider.verify("invalid")).thenReturn(null);
+
+        filterWithToken("invalid");
+        filterWithToken("invalid");
+
+        verify(jwtProvider, times(2)).verify("invalid");
+    }
+
+    /**
+     * Tests that a validly signed but revoked token yields no authentication.
+     */
+    @Test
+    void testRevokedTokenIsNotAuthenticated() {
+        when(jwtProvider.verify("revoked")).thenReturn(verifiedToken("revoked-jti"));
+        when(tokenRevocationService.isRevoked("revoked-jti")).thenReturn(Mono.just(true));
+
+        assertNull(filterWithToken("revoked"));
+    }
+}
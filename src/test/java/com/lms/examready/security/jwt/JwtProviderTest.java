@@ -0,0 +1,162 @@
+package com.lms.examready.security.jwt;
+
+import com.lms.examready.metrics.AuthenticationMetrics;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static com.lms.examready.model.Role.ADMIN;
+import static com.lms.examready.model.Role.USER;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+
+class JwtProviderTest {
+
+    private static final String OLD_SECRET = "3778214125442A472D4B6150645367566B59703373367639792F423F4528482B";
+    private static final String NEW_SECRET = "4a7b9c2d8e3f0a1b6c5d4e9f2a8b3c7d0e1f6a9b5c4d2e8f3a0b1c7d9e2f4a6b";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JwtProvider jwtProvider(String secret, String keyId, List<String> verificationSecrets) {
+        JwtProvider jwtProvider = new JwtProvider(new AuthenticationMetrics(meterRegistry));
+        ReflectionTestUtils.setField(jwtProvider, "jwtSecretString", secret);
+        ReflectionTestUtils.setField(jwtProvider, "jwtKeyId", keyId);
+        ReflectionTestUtils.setField(jwtProvider, "verificationSecrets", verificationSecrets);
+        ReflectionTestUtils.setField(jwtProvider, "jwtExpiration", 60_000L);
+        jwtProvider.init();
+        return jwtProvider;
+    }
+
+    private static MockServerHttpRequest bearer(String token) {
+        return MockServerHttpRequest.get("/").header(AUTHORIZATION, JwtProvider.AUTH_TOKEN_TYPE + token).build();
+    }
+
+    /**
+     * Tests that a token generated by the provider is accepted and mapped to the user id and role.
+     */
+    @Test
+    void testGeneratedTokenIsAuthenticated() {
+        JwtProvider jwtProvider = jwtProvider(NEW_SECRET, "k2", List.of());
+        UUID userId = UUID.randomUUID();
+
+        Authentication authentication = jwtProvider.getAuthentication(bearer(jwtProvider.generateToken(userId, "testUser", USER)));
+
+        assertNotNull(authentication);
+        assertEquals(userId.toString(), authentication.getName());
+        assertEquals("ROLE_USER", authentication.getAuthorities().iterator().next().getAuthority());
+    }
+
+    /**
+     * Tests that the authentication carries the user id as a {@link UUID} principal, shares its
+     * authorities with every other authentication of the same role, and can be distrusted but not
+     * marked as trusted without affecting other authentications built from the same verified token.
+     */
+    @Test
+    void testAuthenticationIsLightweight() {
+        JwtProvider jwtProvider = jwtProvider(NEW_SECRET, "k2", List.of());
+        UUID userId = UUID.randomUUID();
+
+        VerifiedToken verifiedToken = jwtProvider.verify(jwtProvider.generateToken(userId, "testUser", USER));
+        JwtAuthentication first = verifiedToken.authentication();
+        JwtAuthentication second = jwtProvider.verify(jwtProvider.generateToken(UUID.randomUUID(), "other", USER)).authentication();
+        JwtAuthentication admin = jwtProvider.verify(jwtProvider.generateToken(UUID.randomUUID(), "admin", ADMIN)).authentication();
+
+        assertEquals(userId, first.getPrincipal());
+        assertEquals("testUser", first.username());
+        assertTrue(first.isAuthenticated());
+        assertSame(first.getAuthorities(), second.getAuthorities());
+        assertEquals("ROLE_ADMIN", admin.getAuthorities().iterator().next().getAuthority());
+
+        assertThrows(IllegalArgumentException.class, () -> first.setAuthenticated(true));
+        first.setAuthenticated(false);
+        assertFalse(first.isAuthenticated());
+        assertTrue(verifiedToken.authentication().isAuthenticated());
+        assertTrue(second.isAuthenticated());
+    }
+
+    /**
+     * Tests that every generated token carries its own {@code jti} for revocation.
+     */
+    @Test
+    void testGeneratedTokensHaveDistinctIds() {
+        JwtProvider jwtProvider = jwtProvider(NEW_SECRET, "k2", List.of());
+        UUID userId = UUID.randomUUID();
+
+        VerifiedToken first = jwtProvider.verify(jwtProvider.generateToken(userId, "testUser", USER));
+        VerifiedToken second = jwtProvider.verify(jwtProvider.generateToken(userId, "testUser", USER));
+
+        assertNotNull(first.tokenId());
+        assertNotEquals(first.tokenId(), second.tokenId());
+    }
+
+    /**
+     * Tests secret rotation: tokens signed with the previous key stay valid while it is listed
+     * as a verification secret, and are rejected once it is removed.
+     */
+    @Test
+    void testTokensSignedWithPreviousKeyDuringRotation() {
+        String oldToken = jwtProvider(OLD_SECRET, "k1", List.of()).generateToken(UUID.randomUUID(), "testUser", USER);
+
+        JwtProvider rotated = jwtProvider(NEW_SECRET, "k2", List.of("k1:" + OLD_SECRET));
+        JwtProvider retired = jwtProvider(NEW_SECRET, "k2", List.of());
+
+        assertNotNull(rotated.getAuthentication(bearer(oldToken)));
+        assertNull(retired.getAuthentication(bearer(oldToken)));
+    }
+
+    /**
+     * Tests that a malformed token yields no authentication.
+     */
+    @Test
+    void testMalformedToken() {
+        JwtProvider jwtProvider = jwtProvider(NEW_SECRET, "k2", List.of());
+
+        assertNull(jwtProvider.getAuthentication(bearer("not-a-jwt")));
+    }
+
+    /**
+     * Tests that an unsigned ({@code alg: none}) token is rejected as invalid rather than failing the request.
+     */
+    @Test
+    void testUnsignedToken() {
+        JwtProvider jwtProvider = jwtProvider(NEW_SECRET, "k2", List.of());
+        String unsigned = Jwts.builder()
+                .subject(UUID.randomUUID().toString())
+                .claim("username", "testUser")
+                .claim("role", USER.name())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .compact();
+
+        assertNull(jwtProvider.verify(unsigned));
+        assertEquals(1, invalidTokens());
+    }
+
+    /**
+     * Tests that a token whose {@code kid} names no known key is rejected as invalid.
+     */
+    @Test
+    void testUnknownKeyId() {
+        String token = jwtProvider(OLD_SECRET, "k9", List.of()).generateToken(UUID.randomUUID(), "testUser", USER);
+
+        assertNull(jwtProvider(NEW_SECRET, "k2", List.of()).verify(token));
+        assertEquals(1, invalidTokens());
+    }
+
+    private long invalidTokens() {
+        return meterRegistry.get("auth.token.verify").tag("outcome", "invalid").timer().count();
+    }
+}
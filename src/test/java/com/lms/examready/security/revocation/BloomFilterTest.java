@@ -0,0 +1,60 @@
+package com.lms.examready.security.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    /**
+     * Tests that every added value is reported as possibly present.
+     */
+    @Test
+    void testNoFalseNegatives() {
+        BloomFilter filter = new BloomFilter(10_000, 0.001);
+        List<String> added = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            String tokenId = UUID.randomUUID().toString();
+            filter.put(tokenId);
+            added.add(tokenId);
+        }
+
+        assertTrue(added.stream().allMatch(filter::mightContain));
+    }
+
+    /**
+     * Tests that at the expected load the false positive rate stays close to the configured one.
+     */
+    @Test
+    void testFalsePositiveRateAtCapacity() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) {
+                falsePositives++;
+            }
+        }
+
+        assertTrue(falsePositives < 2_000, "false positives: " + falsePositives);
+    }
+
+    /**
+     * Tests that sizing follows the usual formulas: about 9.6 bits and 7 hashes per entry for 1%.
+     */
+    @Test
+    void testSizing() {
+        BloomFilter filter = new BloomFilter(1_000, 0.01);
+
+        assertEquals(9_600, filter.bitCount(), 64);
+        assertEquals(7, filter.hashCount());
+        assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+    }
+}
@@ -0,0 +1,111 @@
+package com.lms.examready.security.revocation;
+
+import com.lms.examready.model.RevokedToken;
+import com.lms.examready.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationServiceTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private TokenRevocationService tokenRevocationService;
+
+    @BeforeEach
+    void setUp() {
+        tokenRevocationService = new TokenRevocationService(revokedTokenRepository, new SimpleMeterRegistry(),
+                1_000, 0.001, Duration.ofSeconds(5), 100);
+    }
+
+    /**
+     * Tests that a token missing from the filter is reported as not revoked without touching the database.
+     */
+    @Test
+    void testUnknownTokenIsFilteredWithoutIo() {
+        StepVerifier.create(tokenRevocationService.isRevoked("never-revoked"))
+                .expectNext(false)
+                .verifyComplete();
+
+        verifyNoInteractions(revokedTokenRepository);
+    }
+
+    /**
+     * Tests that a locally revoked token is confirmed against the database.
+     */
+    @Test
+    void testRevokedTokenIsConfirmedInDatabase() {
+        when(revokedTokenRepository.revoke(eq("jti"), any())).thenReturn(Mono.just(1L));
+        when(revokedTokenRepository.existsById("jti")).thenReturn(Mono.just(true));
+
+        StepVerifier.create(tokenRevocationService.revoke("jti", System.currentTimeMillis() + 60_000))
+                .verifyComplete();
+        StepVerifier.create(tokenRevocationService.isRevoked("jti"))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that revocations made on other nodes are picked up by the incremental refresh,
+     * using a window that overlaps the previous one.
+     */
+    @Test
+    void testRefreshPicksUpRemoteRevocations() {
+        LocalDateTime rebuiltAt = LocalDateTime.now();
+        when(revokedTokenRepository.deleteExpired(any(), eq(100))).thenReturn(Mono.just(0L));
+        when(revokedTokenRepository.currentTimestamp()).thenReturn(Mono.just(rebuiltAt), Mono.just(rebuiltAt.plusSeconds(5)));
+        when(revokedTokenRepository.findActive(any())).thenReturn(Flux.empty());
+        tokenRevocationService.rebuild();
+
+        when(revokedTokenRepository.findActiveRevokedSince(eq(rebuiltAt.minusSeconds(5)), any()))
+                .thenReturn(Flux.just(revokedToken("remote-jti", rebuiltAt.plusSeconds(1))));
+        when(revokedTokenRepository.existsById("remote-jti")).thenReturn(Mono.just(true));
+        tokenRevocationService.refresh();
+
+        StepVerifier.create(tokenRevocationService.isRevoked("remote-jti"))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that a rebuild drops revocations that are no longer active.
+     */
+    @Test
+    void testRebuildDropsExpiredRevocations() {
+        when(revokedTokenRepository.revoke(eq("expired-jti"), any())).thenReturn(Mono.just(1L));
+        tokenRevocationService.revoke("expired-jti", System.currentTimeMillis() - 1_000).block();
+
+        when(revokedTokenRepository.deleteExpired(any(), eq(100))).thenReturn(Mono.just(1L));
+        when(revokedTokenRepository.currentTimestamp()).thenReturn(Mono.just(LocalDateTime.now()));
+        when(revokedTokenRepository.findActive(any())).thenReturn(Flux.empty());
+        tokenRevocationService.rebuild();
+
+        StepVerifier.create(tokenRevocationService.isRevoked("expired-jti"))
+                .expectNext(false)
+                .verifyComplete();
+        verify(revokedTokenRepository, never()).existsById(any(String.class));
+    }
+
+    private static RevokedToken revokedToken(String jti, LocalDateTime revokedAt) {
+        RevokedToken revokedToken = new RevokedToken();
+        revokedToken.setJti(jti);
+        revokedToken.setRevokedAt(revokedAt);
+        revokedToken.setExpiresAt(revokedAt.plusMinutes(15));
+        return revokedToken;
+    }
+}
@@ -1,23 +1,34 @@
 package com.lms.examready.service;
 
+import com.lms.examready.audit.AuthEventPublisher;
+import com.lms.examready.audit.AuthEventType;
+import com.lms.examready.dto.request.RefreshTokenRequestDto;
 import com.lms.examready.dto.request.SignInRequestDto;
 import com.lms.examready.dto.request.SignUpRequestDto;
+import com.lms.examready.dto.response.TokenResponseDto;
 import com.lms.examready.dto.response.UserResponseDto;
 import com.lms.examready.exception.UserAlreadyExistsException;
+import com.lms.examready.metrics.AuthenticationMetrics;
 import com.lms.examready.model.User;
+import com.lms.examready.security.PasswordHasher;
 import com.lms.examready.security.jwt.JwtProvider;
+import com.lms.examready.security.jwt.VerifiedToken;
+import com.lms.examready.security.jwt.VerifiedTokenCache;
+import com.lms.examready.security.revocation.TokenRevocationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.util.UUID;
 
+import static com.lms.examready.metrics.AuthenticationMetrics.SignInOutcome.*;
 import static com.lms.examready.model.Role.USER;
 import static org.mockito.Mockito.*;
 import static org.mockito.MockitoAnnotations.openMocks;
@@ -29,11 +40,26 @@ class AuthenticationServiceTest {
     private UserService userService;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private JwtProvider jwtProvider;
 
+    @Mock
+    private RefreshTokenService refreshTokenService;
+
+    @Mock
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Mock
+    private AuthEventPublisher authEventPublisher;
+
+    @Mock
+    private TokenRevocationService tokenRevocationService;
+
+    @Spy
+    private AuthenticationMetrics authenticationMetrics = new AuthenticationMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private AuthenticationService authenticationService;
 
@@ -53,7 +79,7 @@ class AuthenticationServiceTest {
     /**
      * Test successful sign-in with valid credentials
      * This test verifies that when a user signs in with valid credentials,
-     * the method returns a JWT token.
+     * the method returns a JWT access token and a refresh token.
      */
     @Test
     void testSignInSuccessWithValidCredentials() {
@@ -68,18 +94,113 @@ class AuthenticationServiceTest {
         user.setEnabled(true);
 
         when(userService.findByUsername("validUser")).thenReturn(Mono.just(user));
-        when(passwordEncoder.matches("validPassword", "encodedPassword")).thenReturn(true);
+        when(passwordHasher.matches("validPassword", "encodedPassword")).thenReturn(Mono.just(true));
         when(jwtProvider.generateToken(userId, "validUser", USER)).thenReturn("jwtToken");
+        when(refreshTokenService.issue(userId)).thenReturn(Mono.just("refreshToken"));
 
-        Mono<String> result = authenticationService.signIn(signInRequestDto);
+        Mono<TokenResponseDto> result = authenticationService.signIn(signInRequestDto);
 
         StepVerifier.create(result)
-                .expectNext("jwtToken")
+                .expectNext(new TokenResponseDto("jwtToken", "refreshToken"))
                 .verifyComplete();
 
         verify(userService).findByUsername("validUser");
-        verify(passwordEncoder).matches("validPassword", "encodedPassword");
+        verify(passwordHasher).matches("validPassword", "encodedPassword");
         verify(jwtProvider).generateToken(userId, "validUser", USER);
+        verify(authenticationMetrics).signIn(SUCCESS);
+        verify(authEventPublisher).publish(argThat(event -> event.type() == AuthEventType.SIGN_IN_SUCCEEDED
+                && userId.equals(event.userId())));
+    }
+
+    /**
+     * Tests that a successful sign-in with an outdated hash triggers a background rehash.
+     */
+    @Test
+    void testSignInUpgradesOutdatedHash() {
+        UUID userId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        user.setUsername("validUser");
+        user.setPassword("$2a$10$legacyHash");
+        user.setRole(USER);
+        user.setEnabled(true);
+
+        when(userService.findByUsername("validUser")).thenReturn(Mono.just(user));
+        when(passwordHasher.matches("validPassword", "$2a$10$legacyHash")).thenReturn(Mono.just(true));
+        when(passwordHasher.upgradeEncoding("$2a$10$legacyHash")).thenReturn(true);
+        when(userService.rehashPassword(user, "validPassword")).thenReturn(Mono.just(user));
+        when(jwtProvider.generateToken(userId, "validUser", USER)).thenReturn("jwtToken");
+        when(refreshTokenService.issue(userId)).thenReturn(Mono.just("refreshToken"));
+
+        StepVerifier.create(authenticationService.signIn(new SignInRequestDto("validUser", "validPassword")))
+                .expectNext(new TokenResponseDto("jwtToken", "refreshToken"))
+                .verifyComplete();
+
+        verify(userService).rehashPassword(user, "validPassword");
+    }
+
+    /**
+     * Tests refreshing with a valid refresh token.
+     * Verifies that a new access token is issued for the token's user along with the rotated refresh token.
+     */
+    @Test
+    void testRefreshIssuesNewTokens() {
+        UUID userId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        user.setUsername("validUser");
+        user.setRole(USER);
+        user.setEnabled(true);
+
+        when(refreshTokenService.rotate("oldRefreshToken"))
+                .thenReturn(Mono.just(new RefreshTokenService.Rotation(userId, "newRefreshToken")));
+        when(userService.findById(userId)).thenReturn(Mono.just(user));
+        when(jwtProvider.generateToken(userId, "validUser", USER)).thenReturn("jwtToken");
+
+        StepVerifier.create(authenticationService.refresh(new RefreshTokenRequestDto("oldRefreshToken")))
+                .expectNext(new TokenResponseDto("jwtToken", "newRefreshToken"))
+                .verifyComplete();
+    }
+
+    /**
+     * Tests refreshing for a user that has been disabled since the refresh token was issued.
+     * Expects a BadCredentialsException and no access token.
+     */
+    @Test
+    void testRefreshRejectsDisabledUser() {
+        UUID userId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        user.setEnabled(false);
+
+        when(refreshTokenService.rotate("oldRefreshToken"))
+                .thenReturn(Mono.just(new RefreshTokenService.Rotation(userId, "newRefreshToken")));
+        when(userService.findById(userId)).thenReturn(Mono.just(user));
+
+        StepVerifier.create(authenticationService.refresh(new RefreshTokenRequestDto("oldRefreshToken")))
+                .expectError(BadCredentialsException.class)
+                .verify();
+
+        verifyNoInteractions(jwtProvider);
+    }
+
+    /**
+     * Tests sign-out with both tokens.
+     * Verifies that the access token is revoked until its expiry and the refresh token family is revoked.
+     */
+    @Test
+    void testSignOutRevokesBothTokens() {
+        UUID userId = UUID.randomUUID();
+        VerifiedToken verifiedToken = new VerifiedToken(userId, userId.toString(), "testUser", USER, "jti", 1_000L);
+        when(verifiedTokenCache.get(eq("jwtToken"), any())).thenReturn(verifiedToken);
+        when(tokenRevocationService.revoke("jti", 1_000L)).thenReturn(Mono.empty());
+        when(refreshTokenService.revoke("refreshToken", userId)).thenReturn(Mono.empty());
+
+        StepVerifier.create(authenticationService.signOut("jwtToken", "refreshToken"))
+                .verifyComplete();
+
+        verify(tokenRevocationService).revoke("jti", 1_000L);
+        verify(refreshTokenService).revoke("refreshToken", userId);
     }
 
     /**
@@ -99,7 +220,8 @@ class AuthenticationServiceTest {
                 .verify();
 
         verify(userService, times(1)).findByUsername(signInRequestDto.username());
-        verifyNoInteractions(passwordEncoder, jwtProvider);
+        verifyNoInteractions(passwordHasher, jwtProvider);
+        verify(authenticationMetrics).signIn(DISABLED);
     }
 
     /**
@@ -113,7 +235,7 @@ class AuthenticationServiceTest {
         validUser.setEnabled(true);
         validUser.setPassword("correctPassword");
         when(userService.findByUsername(signInRequestDto.username())).thenReturn(Mono.just(validUser));
-        when(passwordEncoder.matches(signInRequestDto.password(), validUser.getPassword())).thenReturn(false);
+        when(passwordHasher.matches(signInRequestDto.password(), validUser.getPassword())).thenReturn(Mono.just(false));
 
         StepVerifier.create(authenticationService.signIn(signInRequestDto))
                 .expectErrorMatches(throwable -> throwable instanceof BadCredentialsException &&
@@ -121,8 +243,11 @@ class AuthenticationServiceTest {
                 .verify();
 
         verify(userService, times(1)).findByUsername(signInRequestDto.username());
-        verify(passwordEncoder, times(1)).matches(signInRequestDto.password(), validUser.getPassword());
+        verify(passwordHasher, times(1)).matches(signInRequestDto.password(), validUser.getPassword());
         verifyNoInteractions(jwtProvider);
+        verify(authenticationMetrics).signIn(BAD_PASSWORD);
+        verify(authEventPublisher).publish(argThat(event -> event.type() == AuthEventType.SIGN_IN_FAILED
+                && "BAD_PASSWORD".equals(event.detail())));
     }
 
     /**
@@ -140,21 +265,21 @@ class AuthenticationServiceTest {
                 .verify();
 
         verify(userService, times(1)).findByUsername(signInRequestDto.username());
-        verifyNoInteractions(passwordEncoder, jwtProvider);
+        verifyNoInteractions(passwordHasher, jwtProvider);
+        verify(authenticationMetrics).signIn(UNKNOWN_USER);
     }
 
     /**
      * Test case for signUp method when the username already exists.
-     * It should return a Mono that emits a UserAlreadyExistsException.
+     * The insert completes empty on conflict and the method should emit a UserAlreadyExistsException
+     * naming the username.
      */
     @Test
     void testSignUpWithExistingUsername() {
         SignUpRequestDto signUpRequestDto = new SignUpRequestDto("existingUser", "password", "email@example.com");
-        User existingUser = new User();
-        existingUser.setUsername("existingUser");
 
-        when(userService.findByUsername(signUpRequestDto.username()))
-                .thenReturn(Mono.just(existingUser));
+        when(userService.saveUser(signUpRequestDto)).thenReturn(Mono.empty());
+        when(userService.existsByUsername(signUpRequestDto.username())).thenReturn(Mono.just(true));
 
         Mono<UserResponseDto> result = authenticationService.signUp(signUpRequestDto);
 
@@ -163,27 +288,46 @@ class AuthenticationServiceTest {
                         throwable.getMessage().equals("Username 'existingUser' already exists"))
                 .verify();
 
-        verify(userService, times(1)).findByUsername(signUpRequestDto.username());
-        verify(userService, never()).saveUser(any());
+        verify(userService, times(1)).saveUser(signUpRequestDto);
+        verify(userService, never()).findByUsername(any());
     }
 
     /**
-     * Tests the signUp method when attempting to register a user with an existing username.
-     * This test verifies that the method throws a UserAlreadyExistsException when the username is already taken.
+     * Tests the signUp method when the email is already registered under another username.
+     * This test verifies that the conflict is reported as a UserAlreadyExistsException naming the email.
      */
     @Test
-    void test_signUp_existingUsername_throwsUserAlreadyExistsException() {
-        SignUpRequestDto signUpRequestDto = new SignUpRequestDto("existingUser", "password", "email@example.com");
-        when(userService.findByUsername(signUpRequestDto.username()))
-                .thenReturn(Mono.just(new User()));
+    void test_signUp_existingEmail_throwsUserAlreadyExistsException() {
+        SignUpRequestDto signUpRequestDto = new SignUpRequestDto("newUser", "password", "email@example.com");
+        when(userService.saveUser(signUpRequestDto)).thenReturn(Mono.empty());
+        when(userService.existsByUsername(signUpRequestDto.username())).thenReturn(Mono.just(false));
 
         Mono<UserResponseDto> result = authenticationService.signUp(signUpRequestDto);
 
         StepVerifier.create(result)
                 .expectErrorMatches(throwable -> throwable instanceof UserAlreadyExistsException &&
-                        throwable.getMessage().equals("Username 'existingUser' already exists"))
+                        throwable.getMessage().equals("Email 'email@example.com' already exists"))
                 .verify();
-        verify(userService, times(1)).findByUsername(signUpRequestDto.username());
-        verify(userService, never()).saveUser(any());
+        verify(userService, times(1)).saveUser(signUpRequestDto);
+    }
+
+    /**
+     * Tests the signUp method for a new user.
+     * Verifies that the stored user is returned without any prior lookup.
+     */
+    @Test
+    void testSignUpSuccess() {
+        SignUpRequestDto signUpRequestDto = new SignUpRequestDto("newUser", "password", "email@example.com");
+        User savedUser = new User();
+        savedUser.setUsername("newUser");
+        savedUser.setEmail("email@example.com");
+        savedUser.setRole(USER);
+        when(userService.saveUser(signUpRequestDto)).thenReturn(Mono.just(savedUser));
+
+        StepVerifier.create(authenticationService.signUp(signUpRequestDto))
+                .expectNextMatches(dto -> dto.username().equals("newUser") && dto.role() == USER)
+                .verifyComplete();
+
+        verify(userService, never()).existsByUsername(any());
     }
 }
@@ -0,0 +1,232 @@
+package com.lms.examready.service;
+
+import com.lms.examready.attempt.AnswerBuffer;
+import com.lms.examready.cache.ExamSnapshot;
+import com.lms.examready.dto.request.AnswerRequestDto;
+import com.lms.examready.exception.AttemptNotInProgressException;
+import com.lms.examready.exception.InvalidAnswerException;
+import com.lms.examready.model.AttemptStatus;
+import com.lms.examready.model.Exam;
+import com.lms.examready.model.ExamAttempt;
+import com.lms.examready.model.Question;
+import com.lms.examready.repository.ExamAttemptRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExamAttemptServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID EXAM_ID = UUID.randomUUID();
+    private static final UUID ATTEMPT_ID = UUID.randomUUID();
+    private static final UUID QUESTION_ID = UUID.randomUUID();
+
+    @Mock
+    private ExamAttemptRepository examAttemptRepository;
+
+    @Mock
+    private ExamService examService;
+
+    @Mock
+    private AnswerBuffer answerBuffer;
+
+    private ExamAttemptService examAttemptService;
+
+    @BeforeEach
+    void setUp() {
+        examAttemptService = new ExamAttemptService(examAttemptRepository, examService, answerBuffer,
+                Duration.ofMinutes(1), Duration.ofMinutes(10), 1000, Duration.ofSeconds(30));
+    }
+
+    private static ExamAttempt attempt(AttemptStatus status) {
+        return attempt(status, LocalDateTime.now());
+    }
+
+    private static ExamAttempt attempt(AttemptStatus status, LocalDateTime startedAt) {
+        ExamAttempt attempt = new ExamAttempt();
+        attempt.setId(ATTEMPT_ID);
+        attempt.setExamId(EXAM_ID);
+        attempt.setUserId(USER_ID);
+        attempt.setStatus(status);
+        attempt.setStartedAt(startedAt);
+        return attempt;
+    }
+
+    private static ExamSnapshot exam() {
+        Exam exam = new Exam();
+        exam.setId(EXAM_ID);
+        exam.setDurationMinutes(60);
+        Question question = new Question();
+        question.setId(QUESTION_ID);
+        question.setPosition(1);
+        question.setChoices(new String[]{"a", "b", "c"});
+        return ExamSnapshot.of(exam, List.of(question));
+    }
+
+    private static List<AnswerRequestDto> answers(int choice) {
+        return List.of(new AnswerRequestDto(QUESTION_ID, (short) choice));
+    }
+
+    /**
+     * Tests that an autosave is buffered, and that a retry with the same idempotency key is acknowledged
+     * without touching the database or the buffer again.
+     */
+    @Test
+    void testRetriedSubmissionIsNotBufferedTwice() {
+        when(examAttemptRepository.findByIdAndUserId(ATTEMPT_ID, USER_ID))
+                .thenReturn(Mono.just(attempt(AttemptStatus.IN_PROGRESS)));
+        when(examService.findPublishedExam(EXAM_ID)).thenReturn(Mono.just(exam()));
+        when(answerBuffer.add(eq(ATTEMPT_ID), anyList())).thenReturn(true);
+
+        StepVerifier.create(examAttemptService.submitAnswers(USER_ID, ATTEMPT_ID, "key-1", answers(2)))
+                .expectNextMatches(accepted -> accepted.accepted() == 1)
+                .verifyComplete();
+        StepVerifier.create(examAttemptService.submitAnswers(USER_ID, ATTEMPT_ID, "key-1", answers(2)))
+                .expectNextMatches(accepted -> accepted.accepted() == 1)
+                .verifyComplete();
+
+        verify(answerBuffer, times(1)).add(eq(ATTEMPT_ID), anyList());
+        verify(examAttemptRepository, times(1)).findByIdAndUserId(ATTEMPT_ID, USER_ID);
+    }
+
+    /**
+     * Tests that a choice the question does not have is rejected and nothing is buffered.
+     */
+    @Test
+    void testInvalidChoiceIsRejected() {
+        when(examAttemptRepository.findByIdAndUserId(ATTEMPT_ID, USER_ID))
+                .thenReturn(Mono.just(attempt(AttemptStatus.IN_PROGRESS)));
+        when(examService.findPublishedExam(EXAM_ID)).thenReturn(Mono.just(exam()));
+
+        StepVerifier.create(examAttemptService.submitAnswers(USER_ID, ATTEMPT_ID, null, answers(3)))
+                .expectError(InvalidAnswerException.class)
+                .verify();
+
+        verifyNoInteractions(answerBuffer);
+    }
+
+    /**
+     * Tests that answers to a finished attempt are rejected.
+     */
+    @Test
+    void testSubmissionToFinishedAttemptIsRejected() {
+        when(examAttemptRepository.findByIdAndUserId(ATTEMPT_ID, USER_ID))
+                .thenReturn(Mono.just(attempt(AttemptStatus.FINISHED)));
+
+        StepVerifier.create(examAttemptService.submitAnswers(USER_ID, ATTEMPT_ID, null, answers(0)))
+                .expectError(AttemptNotInProgressException.class)
+                .verify();
+    }
+
+    /**
+     * Tests that the buffered and final answers are written before the attempt is marked finished.
+     */
+    @Test
+    void testFinishFlushesAnswersFirst() {
+        when(examAttemptRepository.findByIdAndUserId(ATTEMPT_ID, USER_ID))
+                .thenReturn(Mono.just(attempt(AttemptStatus.IN_PROGRESS)));
+        when(examService.findPublishedExam(EXAM_ID)).thenReturn(Mono.just(exam()));
+        when(answerBuffer.flush(eq(ATTEMPT_ID), anyList())).thenReturn(Mono.just(1L));
+        when(examAttemptRepository.finish(eq(ATTEMPT_ID), eq(USER_ID), any()))
+                .thenReturn(Mono.just(attempt(AttemptStatus.FINISHED)));
+
+        StepVerifier.create(examAttemptService.finish(USER_ID, ATTEMPT_ID, answers(1)))
+                .expectNextMatches(attempt -> attempt.getStatus() == AttemptStatus.FINISHED)
+                .verifyComplete();
+
+        InOrder inOrder = inOrder(answerBuffer, examAttemptRepository);
+        inOrder.verify(answerBuffer).flush(eq(ATTEMPT_ID), argThat(answers -> answers.size() == 1));
+        inOrder.verify(examAttemptRepository).finish(eq(ATTEMPT_ID), eq(USER_ID), any());
+    }
+
+    /**
+     * Tests that answers given after startedAt + durationMinutes are rejected even though the attempt
+     * was never finished.
+     */
+    @Test
+    void testSubmissionPastDeadlineIsRejected() {
+        when(examAttemptRepository.findByIdAndUserId(ATTEMPT_ID, USER_ID))
+                .thenReturn(Mono.just(attempt(AttemptStatus.IN_PROGRESS, LocalDateTime.now().minusMinutes(61))));
+        when(examService.findPublishedExam(EXAM_ID)).thenReturn(Mono.just(exam()));
+
+        StepVerifier.create(examAttemptService.submitAnswers(USER_ID, ATTEMPT_ID, null, answers(0)))
+                .expectError(AttemptNotInProgressException.class)
+                .verify();
+
+        verifyNoInteractions(answerBuffer);
+    }
+
+    /**
+     * Tests that an attempt finished late is finished as of its deadline.
+     */
+    @Test
+    void testLateFinishIsClampedToDeadline() {
+        LocalDateTime startedAt = LocalDateTime.now().minusMinutes(90);
+        when(examAttemptRepository.findByIdAndUserId(ATTEMPT_ID, USER_ID))
+                .thenReturn(Mono.just(attempt(AttemptStatus.IN_PROGRESS, startedAt)));
+        when(examService.findPublishedExam(EXAM_ID)).thenReturn(Mono.just(exam()));
+        when(answerBuffer.flush(eq(ATTEMPT_ID), anyList())).thenReturn(Mono.just(0L));
+        when(examAttemptRepository.finish(eq(ATTEMPT_ID), eq(USER_ID), any()))
+                .thenReturn(Mono.just(attempt(AttemptStatus.FINISHED)));
+
+        StepVerifier.create(examAttemptService.finish(USER_ID, ATTEMPT_ID, List.of()))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(examAttemptRepository).finish(ATTEMPT_ID, USER_ID, startedAt.plusMinutes(60));
+    }
+
+    /**
+     * Tests that an attempt finished elsewhere is no longer served as open from the cache.
+     */
+    @Test
+    void testFinishedAttemptIsNotServedFromCache() {
+        when(examAttemptRepository.findByIdAndUserId(ATTEMPT_ID, USER_ID))
+                .thenReturn(Mono.just(attempt(AttemptStatus.IN_PROGRESS)))
+                .thenReturn(Mono.just(attempt(AttemptStatus.FINISHED)));
+
+        StepVerifier.create(examAttemptService.findOpenAttempt(USER_ID, ATTEMPT_ID))
+                .expectNextCount(1)
+                .verifyComplete();
+        examAttemptService.evictOpenAttempt(ATTEMPT_ID);
+
+        StepVerifier.create(examAttemptService.findOpenAttempt(USER_ID, ATTEMPT_ID))
+                .expectError(AttemptNotInProgressException.class)
+                .verify();
+    }
+
+    /**
+     * Tests that attempts the sweep finishes are evicted from the open attempt cache.
+     */
+    @Test
+    void testFinishExpiredEvictsFinishedAttempts() {
+        when(examAttemptRepository.findByIdAndUserId(ATTEMPT_ID, USER_ID))
+                .thenReturn(Mono.just(attempt(AttemptStatus.IN_PROGRESS)))
+                .thenReturn(Mono.just(attempt(AttemptStatus.FINISHED)));
+        when(examAttemptRepository.finishExpired(any())).thenReturn(Flux.just(ATTEMPT_ID));
+
+        StepVerifier.create(examAttemptService.findOpenAttempt(USER_ID, ATTEMPT_ID))
+                .expectNextCount(1)
+                .verifyComplete();
+        examAttemptService.finishExpired();
+
+        StepVerifier.create(examAttemptService.findOpenAttempt(USER_ID, ATTEMPT_ID))
+                .expectError(AttemptNotInProgressException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,89 @@
+package com.lms.examready.service;
+
+import com.lms.examready.cache.ExamSnapshot;
+import com.lms.examready.dto.response.TimerEventDto;
+import com.lms.examready.live.ExamEventHub;
+import com.lms.examready.model.AttemptStatus;
+import com.lms.examready.model.Exam;
+import com.lms.examready.model.ExamAttempt;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExamEventServiceTest {
+
+    private static final UUID USER_ID = UUID.randomUUID();
+    private static final UUID EXAM_ID = UUID.randomUUID();
+    private static final UUID ATTEMPT_ID = UUID.randomUUID();
+
+    @Mock
+    private ExamAttemptService examAttemptService;
+
+    @Mock
+    private ExamService examService;
+
+    @Mock
+    private ExamEventHub examEventHub;
+
+    @InjectMocks
+    private ExamEventService examEventService;
+
+    private void givenAttemptStarted(LocalDateTime startedAt) {
+        ExamAttempt attempt = new ExamAttempt();
+        attempt.setId(ATTEMPT_ID);
+        attempt.setExamId(EXAM_ID);
+        attempt.setUserId(USER_ID);
+        attempt.setStatus(AttemptStatus.IN_PROGRESS);
+        attempt.setStartedAt(startedAt);
+        Exam exam = new Exam();
+        exam.setId(EXAM_ID);
+        exam.setDurationMinutes(60);
+
+        when(examAttemptService.findOpenAttempt(USER_ID, ATTEMPT_ID)).thenReturn(Mono.just(attempt));
+        when(examService.findPublishedExam(EXAM_ID)).thenReturn(Mono.just(ExamSnapshot.of(exam, List.of())));
+        when(examEventHub.subscribe(EXAM_ID)).thenReturn(Flux.never());
+    }
+
+    /**
+     * Tests that a new connection gets the remaining time right away.
+     */
+    @Test
+    void testStreamStartsWithRemainingTime() {
+        givenAttemptStarted(LocalDateTime.now().minusMinutes(15));
+
+        StepVerifier.create(examEventService.streamForAttempt(USER_ID, ATTEMPT_ID))
+                .assertNext(event -> {
+                    TimerEventDto timer = (TimerEventDto) event.data();
+                    assertEquals(ExamEventService.TIMER, event.event());
+                    assertTrue(timer.remainingSeconds() > 44 * 60 && timer.remainingSeconds() <= 45 * 60);
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    /**
+     * Tests that the stream ends with a time-up event once the attempt's time has run out.
+     */
+    @Test
+    void testStreamCompletesWhenTimeIsUp() {
+        givenAttemptStarted(LocalDateTime.now().minusMinutes(61));
+
+        StepVerifier.create(examEventService.streamForAttempt(USER_ID, ATTEMPT_ID))
+                .expectNextMatches(event -> ExamEventService.TIME_UP.equals(event.event()))
+                .verifyComplete();
+    }
+}
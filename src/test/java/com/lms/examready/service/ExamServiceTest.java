@@ -0,0 +1,86 @@
+package com.lms.examready.service;
+
+import com.lms.examready.cache.ExamContentCache;
+import com.lms.examready.cache.ExamSnapshot;
+import com.lms.examready.dto.response.QuestionResponseDto;
+import com.lms.examready.exception.ExamNotFoundException;
+import com.lms.examready.model.Exam;
+import com.lms.examready.model.Question;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ExamServiceTest {
+
+    private static final UUID EXAM_ID = UUID.randomUUID();
+
+    @Mock
+    private ExamContentCache examContentCache;
+
+    @InjectMocks
+    private ExamService examService;
+
+    private static ExamSnapshot snapshot(int... positions) {
+        Exam exam = new Exam();
+        exam.setId(EXAM_ID);
+        List<Question> questions = IntStream.of(positions).mapToObj(position -> {
+            Question question = new Question();
+            question.setId(UUID.randomUUID());
+            question.setExamId(EXAM_ID);
+            question.setPosition(position);
+            question.setPrompt("Question " + position);
+            question.setChoices(new String[]{"a", "b"});
+            return question;
+        }).toList();
+        return ExamSnapshot.of(exam, questions);
+    }
+
+    /**
+     * Tests that all questions are streamed in position order.
+     */
+    @Test
+    void testStreamQuestionsInOrder() {
+        when(examContentCache.get(EXAM_ID)).thenReturn(Mono.just(snapshot(1, 2, 5)));
+
+        StepVerifier.create(examService.streamQuestions(EXAM_ID, 0).map(QuestionResponseDto::position))
+                .expectNext(1, 2, 5)
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that a stream can be resumed after a given position, including one that has no question.
+     */
+    @Test
+    void testStreamQuestionsResumesAfterPosition() {
+        when(examContentCache.get(EXAM_ID)).thenReturn(Mono.just(snapshot(1, 2, 5, 6)));
+
+        StepVerifier.create(examService.streamQuestions(EXAM_ID, 3).map(QuestionResponseDto::position))
+                .expectNext(5, 6)
+                .verifyComplete();
+        StepVerifier.create(examService.streamQuestions(EXAM_ID, 6))
+                .verifyComplete();
+    }
+
+    /**
+     * Tests that questions of an unknown or unpublished exam are not served.
+     */
+    @Test
+    void testStreamQuestionsOfUnpublishedExam() {
+        when(examContentCache.get(EXAM_ID)).thenReturn(Mono.empty());
+
+        StepVerifier.create(examService.streamQuestions(EXAM_ID, 0))
+                .expectError(ExamNotFoundException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,136 @@
+package com.lms.examready.service;
+
+import com.lms.examready.model.RefreshToken;
+import com.lms.examready.repository.RefreshTokenRepository;
+import com.lms.examready.security.TokenDigest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.BadCredentialsException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenServiceTest {
+
+    @Mock
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private RefreshTokenService refreshTokenService;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenService = new RefreshTokenService(refreshTokenRepository, Duration.ofDays(14), 2);
+    }
+
+    /**
+     * Tests that a newly issued token is stored only as its digest, in a fresh family.
+     */
+    @Test
+    void testIssueStoresDigestOnly() {
+        UUID userId = UUID.randomUUID();
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        when(refreshTokenRepository.save(saved.capture())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        String rawToken = refreshTokenService.issue(userId).block();
+
+        assertNotNull(rawToken);
+        assertEquals(userId, saved.getValue().getUserId());
+        assertNotNull(saved.getValue().getFamilyId());
+        assertEquals(TokenDigest.sha256Hex(rawToken), saved.getValue().getTokenHash());
+        assertNotEquals(rawToken, saved.getValue().getTokenHash());
+        assertTrue(saved.getValue().getExpiresAt().isAfter(LocalDateTime.now().plusDays(13)));
+    }
+
+    /**
+     * Tests that rotating a live token issues a successor in the same family.
+     */
+    @Test
+    void testRotateIssuesSuccessorInSameFamily() {
+        RefreshToken consumed = refreshToken(null);
+        when(refreshTokenRepository.consume(eq(TokenDigest.sha256Hex("current")), any()))
+                .thenReturn(Mono.just(consumed));
+        ArgumentCaptor<RefreshToken> saved = ArgumentCaptor.forClass(RefreshToken.class);
+        when(refreshTokenRepository.save(saved.capture())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(refreshTokenService.rotate("current"))
+                .assertNext(rotation -> {
+                    assertEquals(consumed.getUserId(), rotation.userId());
+                    assertNotEquals("current", rotation.refreshToken());
+                })
+                .verifyComplete();
+
+        assertEquals(consumed.getFamilyId(), saved.getValue().getFamilyId());
+        verify(refreshTokenRepository, never()).findByTokenHash(any());
+    }
+
+    /**
+     * Tests that presenting an already used token revokes its whole family.
+     */
+    @Test
+    void testRotateWithReusedTokenRevokesFamily() {
+        RefreshToken used = refreshToken(LocalDateTime.now().minusMinutes(5));
+        String tokenHash = TokenDigest.sha256Hex("stolen");
+        when(refreshTokenRepository.consume(eq(tokenHash), any())).thenReturn(Mono.empty());
+        when(refreshTokenRepository.findByTokenHash(tokenHash)).thenReturn(Mono.just(used));
+        when(refreshTokenRepository.revokeFamily(eq(used.getFamilyId()), any())).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(refreshTokenService.rotate("stolen"))
+                .expectError(BadCredentialsException.class)
+                .verify();
+
+        verify(refreshTokenRepository).revokeFamily(eq(used.getFamilyId()), any());
+        verify(refreshTokenRepository, never()).save(any());
+    }
+
+    /**
+     * Tests that an unknown token is rejected without revoking anything.
+     */
+    @Test
+    void testRotateWithUnknownTokenIsRejected() {
+        String tokenHash = TokenDigest.sha256Hex("unknown");
+        when(refreshTokenRepository.consume(eq(tokenHash), any())).thenReturn(Mono.empty());
+        when(refreshTokenRepository.findByTokenHash(tokenHash)).thenReturn(Mono.empty());
+
+        StepVerifier.create(refreshTokenService.rotate("unknown"))
+                .expectError(BadCredentialsException.class)
+                .verify();
+
+        verify(refreshTokenRepository, never()).revokeFamily(any(), any());
+    }
+
+    /**
+     * Tests that the purge job keeps deleting full batches until a partial batch is returned.
+     */
+    @Test
+    void testPurgeExpiredDeletesInBatches() {
+        when(refreshTokenRepository.deleteExpired(any(), eq(2)))
+                .thenReturn(Mono.just(2L), Mono.just(2L), Mono.just(1L));
+
+        refreshTokenService.purgeExpired();
+
+        verify(refreshTokenRepository, times(3)).deleteExpired(any(), eq(2));
+    }
+
+    private static RefreshToken refreshToken(LocalDateTime usedAt) {
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setId(UUID.randomUUID());
+        refreshToken.setUserId(UUID.randomUUID());
+        refreshToken.setFamilyId(UUID.randomUUID());
+        refreshToken.setExpiresAt(LocalDateTime.now().plusDays(1));
+        refreshToken.setUsedAt(usedAt);
+        return refreshToken;
+    }
+}
@@ -0,0 +1,73 @@
+package com.lms.examready.service;
+
+import com.lms.examready.dto.request.SignUpRequestDto;
+import com.lms.examready.dto.response.UserImportResultDto;
+import com.lms.examready.model.User;
+import com.lms.examready.repository.UserRepository;
+import com.lms.examready.security.PasswordHasher;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static com.lms.examready.dto.response.UserImportResultDto.Status.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class UserProvisioningServiceTest {
+
+    private UserRepository userRepository;
+
+    private UserProvisioningService userProvisioningService;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        PasswordHasher passwordHasher = mock(PasswordHasher.class);
+        when(passwordHasher.parallelism()).thenReturn(2);
+        when(passwordHasher.encode(anyString())).thenReturn(Mono.just("encodedPassword"));
+        userProvisioningService = new UserProvisioningService(userRepository, passwordHasher,
+                Validation.buildDefaultValidatorFactory().getValidator(), 10);
+    }
+
+    /**
+     * Tests a batch mixing a new user, a duplicate within the batch, an invalid row and a row whose
+     * email is already taken. Verifies one multi-row insert and a result per row, in input order.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportReportsResultPerRow() {
+        when(userRepository.insertAllIfAbsent(any())).thenReturn(Flux.just("alice"));
+
+        Flux<SignUpRequestDto> rows = Flux.just(
+                new SignUpRequestDto("alice", "password123", "alice@example.com"),
+                new SignUpRequestDto("alice", "password456", "alice2@example.com"),
+                new SignUpRequestDto("ab", "password123", "ab@example.com"),
+                new SignUpRequestDto("bob", "password123", "alice@example.com"));
+
+        StepVerifier.create(userProvisioningService.importUsers(rows).map(UserImportResultDto::status))
+                .expectNext(CREATED, CONFLICT, INVALID, CONFLICT)
+                .verifyComplete();
+
+        ArgumentCaptor<List<User>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(userRepository, times(1)).insertAllIfAbsent(inserted.capture());
+        assertEquals(List.of("alice", "bob"), inserted.getValue().stream().map(User::getUsername).toList());
+    }
+
+    /**
+     * Tests CSV parsing where the password itself contains commas.
+     */
+    @Test
+    void testParseCsvLineWithCommaInPassword() {
+        SignUpRequestDto dto = UserProvisioningService.parseCsvLine("student1,pa,ss,word,student1@example.com");
+
+        assertEquals(new SignUpRequestDto("student1", "pa,ss,word", "student1@example.com"), dto);
+    }
+}
@@ -1,19 +1,31 @@
 package com.lms.examready.service;
 
+import com.lms.examready.cache.RequestCoalescer;
+import com.lms.examready.cache.UserCache;
 import com.lms.examready.dto.request.SignUpRequestDto;
+import com.lms.examready.metrics.AuthenticationMetrics;
 import com.lms.examready.model.User;
 import com.lms.examready.repository.UserRepository;
+import com.lms.examready.security.PasswordHasher;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
 import static com.lms.examready.model.Role.USER;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.mockito.Mockito.when;
 
@@ -22,11 +34,21 @@ import static org.mockito.Mockito.when;
 class UserServiceTest {
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCache userCache;
+
+    @Spy
+    private RequestCoalescer<String, User> usernameLookupCoalescer =
+            new RequestCoalescer<>("users.by-username", new SimpleMeterRegistry());
+
+    @Spy
+    private AuthenticationMetrics authenticationMetrics = new AuthenticationMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private UserService userService;
 
@@ -39,6 +61,7 @@ class UserServiceTest {
     void testFindByUsername_EmptyUsername() {
         // Arrange
         String emptyUsername = "";
+        when(userCache.getByUsername(emptyUsername)).thenReturn(Mono.empty());
         when(userRepository.findByUsername(emptyUsername)).thenReturn(Mono.empty());
 
         // Act
@@ -61,13 +84,112 @@ class UserServiceTest {
         User expectedUser = new User();
         expectedUser.setUsername(username);
 
+        when(userCache.getByUsername(username)).thenReturn(Mono.empty());
         when(userRepository.findByUsername(username)).thenReturn(Mono.just(expectedUser));
+        when(userCache.put(eq(expectedUser), any(Instant.class))).thenReturn(Mono.empty());
 
         Mono<User> result = userService.findByUsername(username);
 
         StepVerifier.create(result)
                 .expectNext(expectedUser)
                 .verifyComplete();
+
+        verify(userCache).put(eq(expectedUser), any(Instant.class));
+    }
+
+    /**
+     * Test case for findByUsername method on a cache hit
+     * Verifies that the cached user is returned without querying the repository
+     */
+    @Test
+    void test_findByUsername_cacheHitSkipsRepository() {
+        User cachedUser = new User();
+        cachedUser.setUsername("testUser");
+
+        when(userCache.getByUsername("testUser")).thenReturn(Mono.just(cachedUser));
+
+        StepVerifier.create(userService.findByUsername("testUser"))
+                .expectNext(cachedUser)
+                .verifyComplete();
+
+        verifyNoInteractions(userRepository);
+    }
+
+    /**
+     * Test case for findByUsername method with concurrent cache misses
+     * Verifies that lookups for the same username share a single repository query
+     */
+    @Test
+    void test_findByUsername_concurrentMissesShareOneQuery() {
+        User expectedUser = new User();
+        expectedUser.setUsername("testUser");
+        Sinks.One<User> query = Sinks.one();
+
+        when(userCache.getByUsername("testUser")).thenReturn(Mono.empty());
+        when(userRepository.findByUsername("testUser")).thenReturn(query.asMono());
+        when(userCache.put(eq(expectedUser), any(Instant.class))).thenReturn(Mono.empty());
+
+        StepVerifier first = StepVerifier.create(userService.findByUsername("testUser"))
+                .expectNext(expectedUser)
+                .expectComplete()
+                .verifyLater();
+        StepVerifier second = StepVerifier.create(userService.findByUsername("testUser"))
+                .expectNext(expectedUser)
+                .expectComplete()
+                .verifyLater();
+
+        query.tryEmitValue(expectedUser);
+
+        first.verify();
+        second.verify();
+        verify(userRepository, times(1)).findByUsername("testUser");
+    }
+
+    /**
+     * Test case for rehashPassword method
+     * Verifies that the new hash replaces the current one only if unchanged and the cache is invalidated
+     */
+    @Test
+    void test_rehashPassword_updatesHashAndInvalidatesCache() {
+        UUID userId = UUID.randomUUID();
+        User user = new User();
+        user.setId(userId);
+        user.setPassword("$2a$10$legacyHash");
+        User upgraded = new User();
+        upgraded.setId(userId);
+        upgraded.setPassword("{bcrypt}$2a$12$newHash");
+
+        when(passwordHasher.rehash("password")).thenReturn(Mono.just("{bcrypt}$2a$12$newHash"));
+        when(userRepository.updatePasswordIfUnchanged(eq(userId), eq("$2a$10$legacyHash"), eq("{bcrypt}$2a$12$newHash"),
+                any(LocalDateTime.class))).thenReturn(Mono.just(upgraded));
+        when(userCache.invalidate(upgraded)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.rehashPassword(user, "password"))
+                .expectNext(upgraded)
+                .verifyComplete();
+
+        verify(userCache).invalidate(upgraded);
+    }
+
+    /**
+     * Test case for setEnabled method
+     * Verifies that disabling a user invalidates its cache entries
+     */
+    @Test
+    void test_setEnabled_invalidatesCache() {
+        UUID userId = UUID.randomUUID();
+        User disabledUser = new User();
+        disabledUser.setId(userId);
+        disabledUser.setEnabled(false);
+
+        when(userRepository.updateEnabled(eq(userId), eq(false), any(LocalDateTime.class))).thenReturn(Mono.just(disabledUser));
+        when(userCache.invalidate(disabledUser)).thenReturn(Mono.empty());
+
+        StepVerifier.create(userService.setEnabled(userId, false))
+                .expectNext(disabledUser)
+                .verifyComplete();
+
+        verify(userCache).invalidate(disabledUser);
     }
 
     /**
@@ -84,8 +206,10 @@ class UserServiceTest {
         expectedUser.setRole(USER);
         expectedUser.setEnabled(true);
 
-        when(passwordEncoder.encode(dto.password())).thenReturn("encodedPassword");
-        when(userRepository.save(any(User.class))).thenReturn(Mono.just(expectedUser));
+        when(passwordHasher.encode(dto.password())).thenReturn(Mono.just("encodedPassword"));
+        when(userRepository.insertIfAbsent(eq(dto.username()), eq("encodedPassword"), eq(dto.email()), eq("USER"),
+                eq(true), any(LocalDateTime.class), any(LocalDateTime.class))).thenReturn(Mono.just(expectedUser));
+        when(userCache.invalidate(expectedUser)).thenReturn(Mono.empty());
 
         Mono<User> result = userService.saveUser(dto);
 